@@ -0,0 +1,82 @@
+package cs.dev.log.events.handler;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import cs.dev.log.events.config.EventsProperties;
+import cs.dev.log.events.dto.SseEmitterDto;
+import cs.dev.log.events.metrics.SseMetrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class SseEmitterHandlerBenchmark {
+    @Param({"1000", "10000", "100000"})
+    public int emitters;
+
+    @Param({"1", "100", "1000"})
+    public int eventIds;
+
+    private final AtomicLong writes = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+    private SseEmitterRegistry sseEmitterRegistry;
+    private SseFanout sseFanout;
+    private SseEmitterHandler sseEmitterHandler;
+    private SseEmitterDto[] requests;
+    private int[] subscribers;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        EventsProperties eventsProperties = new EventsProperties();
+        SseEventEncoder sseEventEncoder = new SseEventEncoder(new ObjectMapper());
+        this.sseEmitterRegistry = new SseEmitterRegistry();
+        SseReplayStore sseReplayStore = new SseReplayStore(eventsProperties, sseEventEncoder, null);
+        this.sseFanout = new SseFanout(eventsProperties, this.sseEmitterRegistry, new SseAdmission(eventsProperties, sseEventEncoder), sseEventEncoder, new SseMetrics());
+        this.sseFanout.start();
+        this.sseEmitterHandler = new SseEmitterHandler(eventsProperties, this.sseEmitterRegistry, sseReplayStore, this.sseFanout, null, null, null, null);
+        for (int i = 0; i < this.emitters; i++) {
+            SseConnection connection = this.sseEmitterRegistry.register(this.eventId(i % this.eventIds), new StubSseEmitter(this.writes, this.bytes), null);
+            this.sseFanout.replay(connection, Collections.emptyList());
+        }
+        this.requests = new SseEmitterDto[this.eventIds];
+        this.subscribers = new int[this.eventIds];
+        for (int i = 0; i < this.eventIds; i++) {
+            this.requests[i] = new SseEmitterDto(this.eventId(i), "message", Map.of("user", "user-" + i, "count", i, "text", "benchmark payload"), null, null, null);
+            this.subscribers[i] = this.sseEmitterRegistry.size(this.eventId(i));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.sseFanout.stop();
+    }
+
+    @Benchmark
+    public long send() {
+        int index = this.cursor++ % this.requests.length;
+        long target = this.writes.get() + this.subscribers[index];
+        this.sseEmitterHandler.send(this.requests[index]);
+        while (this.writes.get() < target) {
+            Thread.onSpinWait();
+        }
+        return target;
+    }
+
+    private String eventId(int index) {
+        return "event-" + index;
+    }
+}
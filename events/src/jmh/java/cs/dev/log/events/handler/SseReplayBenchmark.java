@@ -0,0 +1,80 @@
+package cs.dev.log.events.handler;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import cs.dev.log.events.config.EventsProperties;
+import cs.dev.log.events.dto.SseEmitterDto;
+import cs.dev.log.events.metrics.SseMetrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class SseReplayBenchmark {
+    private static final String EVENT_ID = "replay";
+
+    @Param({"256", "4096"})
+    public int depth;
+
+    @Param({"1", "16", "256"})
+    public int replayed;
+
+    private final AtomicLong writes = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+    private SseEmitterRegistry sseEmitterRegistry;
+    private SseReplayStore sseReplayStore;
+    private SseFanout sseFanout;
+    private String lastEventId;
+    private long replayBytes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        EventsProperties eventsProperties = new EventsProperties();
+        eventsProperties.getReplay().setDepth(this.depth);
+        eventsProperties.getReplay().setMaxBytes(DataSize.ofMegabytes(64));
+        eventsProperties.getReplay().setMaxAge(Duration.ofDays(1));
+        SseEventEncoder sseEventEncoder = new SseEventEncoder(new ObjectMapper());
+        this.sseEmitterRegistry = new SseEmitterRegistry();
+        this.sseReplayStore = new SseReplayStore(eventsProperties, sseEventEncoder, null);
+        this.sseFanout = new SseFanout(eventsProperties, this.sseEmitterRegistry, new SseAdmission(eventsProperties, sseEventEncoder), sseEventEncoder, new SseMetrics());
+        this.sseFanout.start();
+        for (int i = 0; i < this.depth; i++) {
+            this.sseReplayStore.append(new SseEmitterDto(EVENT_ID, "message", Map.of("index", i, "text", "benchmark payload"), null, null, null));
+        }
+        this.lastEventId = String.valueOf(this.depth - Math.min(this.replayed, this.depth));
+        List<SseEvent> events = this.sseReplayStore.replay(EVENT_ID, this.lastEventId);
+        this.replayBytes = events.stream().mapToLong(event -> event.getFrame().length).sum();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.sseFanout.stop();
+    }
+
+    @Benchmark
+    public long subscribe() {
+        long target = this.bytes.get() + this.replayBytes;
+        SseConnection connection = this.sseEmitterRegistry.register(EVENT_ID, new StubSseEmitter(this.writes, this.bytes), null);
+        this.sseFanout.replay(connection, this.sseReplayStore.replay(EVENT_ID, this.lastEventId));
+        while (this.bytes.get() < target) {
+            Thread.onSpinWait();
+        }
+        this.sseFanout.discard(connection);
+        return target;
+    }
+}
@@ -0,0 +1,23 @@
+package cs.dev.log.events.handler;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class StubSseEmitter extends ResponseBodyEmitter {
+    private final AtomicLong writes;
+    private final AtomicLong bytes;
+
+    public StubSseEmitter(AtomicLong writes, AtomicLong bytes) {
+        super(Long.MAX_VALUE);
+        this.writes = writes;
+        this.bytes = bytes;
+    }
+
+    @Override
+    public void send(Object object, MediaType mediaType) {
+        this.bytes.addAndGet(((byte[]) object).length);
+        this.writes.incrementAndGet();
+    }
+}
@@ -0,0 +1,64 @@
+package cs.dev.log.events.redis;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import cs.dev.log.events.config.EventsProperties;
+import cs.dev.log.events.dto.SseEmitterDto;
+import cs.dev.log.events.metrics.SseMetrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.listener.ChannelTopic;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class RedisSubscriberBenchmark {
+    @Param({"JSON", "SMILE", "CBOR"})
+    public RedisCodecFormat format;
+
+    private RedisEventCodec redisEventCodec;
+    private RedisSubscriber redisSubscriber;
+    private SseEmitterDto sseEmitterDto;
+    private Message message;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        EventsProperties eventsProperties = new EventsProperties();
+        eventsProperties.getCodec().setFormat(this.format);
+        this.redisEventCodec = new RedisEventCodec(eventsProperties, new ObjectMapper());
+        this.redisSubscriber = new RedisSubscriber(eventsProperties, null, this.redisEventCodec, new SseMetrics());
+        this.sseEmitterDto = new SseEmitterDto("event-1", "message",
+                Map.of("user", "user-1", "tags", List.of("a", "b", "c"), "text", "benchmark payload", "count", 42),
+                1024L, eventsProperties.getNodeId(), System.currentTimeMillis());
+        byte[] channel = new RedisChannel(ChannelTopic.of("topic")).of("event-1").getTopic().getBytes(StandardCharsets.UTF_8);
+        this.message = new DefaultMessage(channel, this.redisEventCodec.serialize(this.sseEmitterDto));
+    }
+
+    @Benchmark
+    public void onMessage() {
+        this.redisSubscriber.onMessage(this.message, null);
+    }
+
+    @Benchmark
+    public SseEmitterDto decode() {
+        return this.redisEventCodec.deserialize(this.message.getBody());
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return this.redisEventCodec.serialize(this.sseEmitterDto);
+    }
+}
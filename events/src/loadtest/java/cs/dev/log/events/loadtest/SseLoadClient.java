@@ -0,0 +1,154 @@
+package cs.dev.log.events.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import cs.dev.log.events.handler.SseLatencyHistogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class SseLoadClient implements Flow.Subscriber<String> {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private final HttpClient httpClient;
+    private final URI uri;
+    private final String eventId;
+    private final SseLatencyHistogram latency;
+    private final AtomicLong errors;
+    private final BitSet received = new BitSet();
+    private volatile Flow.Subscription subscription;
+    private volatile String lastEventId = "";
+    private volatile long firstSeq = -1;
+    private volatile boolean connected;
+    private volatile boolean cancelled;
+    private long duplicates;
+    private String data;
+
+    public SseLoadClient(HttpClient httpClient, URI uri, String eventId, SseLatencyHistogram latency, AtomicLong errors) {
+        this.httpClient = httpClient;
+        this.uri = uri;
+        this.eventId = eventId;
+        this.latency = latency;
+        this.errors = errors;
+    }
+
+    public CompletableFuture<Integer> connect() {
+        this.cancelled = false;
+        HttpRequest.Builder request = HttpRequest.newBuilder(this.uri)
+                .header("event-id", this.eventId)
+                .header("accept", "text/event-stream")
+                .GET();
+        if (!this.lastEventId.isEmpty()) {
+            request.header("last-event-id", this.lastEventId);
+        }
+        CompletableFuture<Integer> status = new CompletableFuture<>();
+        this.httpClient.sendAsync(request.build(), info -> {
+                    status.complete(info.statusCode());
+                    return HttpResponse.BodySubscribers.fromLineSubscriber(this);
+                })
+                .whenComplete((response, throwable) -> {
+                    if (throwable != null && !status.isDone()) {
+                        this.errors.incrementAndGet();
+                        status.completeExceptionally(throwable);
+                    }
+                });
+        return status;
+    }
+
+    public void disconnect() {
+        Flow.Subscription current = this.subscription;
+        this.cancelled = true;
+        this.connected = false;
+        if (current != null) {
+            current.cancel();
+        }
+    }
+
+    public boolean isConnected() {
+        return this.connected;
+    }
+
+    public String getEventId() {
+        return this.eventId;
+    }
+
+    public synchronized long missed(long lastPublished) {
+        if (this.firstSeq < 0) {
+            return 0;
+        }
+        long expected = lastPublished - this.firstSeq + 1;
+        return Math.max(0, expected - this.received.get((int) this.firstSeq, (int) lastPublished + 1).cardinality());
+    }
+
+    public synchronized long duplicates() {
+        return this.duplicates;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        this.connected = true;
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(String line) {
+        if (line.isEmpty()) {
+            if (this.data != null) {
+                this.dispatch(this.data);
+            }
+            this.data = null;
+        } else if (line.startsWith("id:")) {
+            this.lastEventId = line.substring(3).trim();
+        } else if (line.startsWith("data:")) {
+            this.data = this.data == null ? line.substring(5) : this.data + "\n" + line.substring(5);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        this.connected = false;
+        if (!this.cancelled) {
+            this.errors.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        this.connected = false;
+    }
+
+    private void dispatch(String data) {
+        try {
+            JsonNode node = OBJECT_MAPPER.readTree(data);
+            long seq = node.path("seq").asLong(-1);
+            long sentAt = node.path("sentAt").asLong();
+            if (seq < 0) {
+                return;
+            }
+            long now = ChronoUnit.MICROS.between(Instant.EPOCH, Instant.now());
+            this.latency.record(TimeUnit.MICROSECONDS.toNanos(now - sentAt));
+            synchronized (this) {
+                if (this.firstSeq < 0) {
+                    this.firstSeq = seq;
+                }
+                if (this.received.get((int) seq)) {
+                    this.duplicates++;
+                } else {
+                    this.received.set((int) seq);
+                }
+            }
+        } catch (IOException e) {
+            this.errors.incrementAndGet();
+        }
+    }
+}
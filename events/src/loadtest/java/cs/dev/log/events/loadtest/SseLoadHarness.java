@@ -0,0 +1,271 @@
+package cs.dev.log.events.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import cs.dev.log.events.config.EventsProperties;
+import cs.dev.log.events.dto.SseEmitterDto;
+import cs.dev.log.events.handler.SseLatencyHistogram;
+import cs.dev.log.events.redis.RedisChannel;
+import cs.dev.log.events.redis.RedisEventCodec;
+import cs.dev.log.events.redis.RedisPublisher;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+public class SseLoadHarness {
+    private static final String HOST = "127.0.0.1";
+    private static final int REDIS_PORT = 6379;
+    private static final String MAIN_CLASS = "cs.dev.log.events.EventsApplication";
+    private static final String HEAP_USED = "/actuator/metrics/jvm.memory.used?tag=area:heap";
+    private final SseLoadOptions options;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient;
+    private final URI base;
+    private final SseLatencyHistogram latency = new SseLatencyHistogram();
+    private final AtomicLong clientErrors = new AtomicLong();
+    private final AtomicLong publishErrors = new AtomicLong();
+    private final AtomicLong reconnects = new AtomicLong();
+    private final List<SseLoadClient> clients = new ArrayList<>();
+
+    public SseLoadHarness(SseLoadOptions options) {
+        this.options = options;
+        this.base = URI.create("http://" + HOST + ":" + options.port());
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2))
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        SseLoadOptions options = new SseLoadOptions(args);
+        Process server = start(options);
+        try {
+            new SseLoadHarness(options).run(server);
+        } finally {
+            server.destroy();
+            if (!server.waitFor(30, TimeUnit.SECONDS)) {
+                server.destroyForcibly();
+            }
+        }
+        System.exit(0);
+    }
+
+    private static Process start(SseLoadOptions options) throws IOException {
+        int capacity = options.clients() * 2;
+        List<String> command = List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"),
+                MAIN_CLASS,
+                "--spring.profiles.active=local",
+                "--server.port=" + options.port(),
+                "--server.tomcat.max-connections=" + (options.clients() + 1000),
+                "--logging.level.root=info",
+                "--management.endpoints.web.exposure.include=health,sse,metrics",
+                "--events.admission.max-connections=" + capacity,
+                "--events.admission.max-connections-per-event=" + capacity,
+                "--events.admission.accept-rate=" + capacity * 10,
+                "--events.admission.accept-burst=" + capacity);
+        File log = new File("build/loadtest/server.log");
+        Files.createDirectories(log.getParentFile().toPath());
+        System.out.println("Starting events server, log at " + log.getAbsolutePath());
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log)
+                .start();
+    }
+
+    private void run(Process server) throws Exception {
+        this.awaitHealthy(server);
+        long heapBefore = this.heapUsed(server);
+
+        int rejected = this.connect();
+        Thread.sleep(this.options.settle().toMillis());
+        long heapAfter = this.heapUsed(server);
+
+        RedisPublisher redisPublisher = this.redisPublisher();
+        ScheduledExecutorService reconnector = Executors.newSingleThreadScheduledExecutor();
+        long interval = this.options.reconnectInterval().toMillis();
+        reconnector.scheduleAtFixedRate(this::reconnect, interval, interval, TimeUnit.MILLISECONDS);
+        long[] sequences = new long[this.options.eventIds()];
+        long[] published = this.publish(redisPublisher, sequences);
+        reconnector.shutdownNow();
+        this.clients.stream().filter(client -> !client.isConnected()).forEach(SseLoadClient::connect);
+        Thread.sleep(this.options.settle().toMillis());
+        redisPublisher.stop();
+
+        long missed = 0;
+        long duplicates = 0;
+        for (SseLoadClient client : this.clients) {
+            int index = Integer.parseInt(client.getEventId().substring(client.getEventId().indexOf('-') + 1));
+            missed += client.missed(sequences[index] - 1);
+            duplicates += client.duplicates();
+        }
+        int connected = this.clients.size() - rejected;
+        System.out.printf("clients=%d connected=%d rejected=%d eventIds=%d%n", this.clients.size(), connected, rejected, this.options.eventIds());
+        System.out.printf("published=%d http=%d redis=%d publishErrors=%d%n", published[0] + published[1], published[0], published[1], this.publishErrors.get());
+        System.out.printf("delivery latency us: count=%d p50=%d p90=%d p99=%d p999=%d max=%d%n",
+                this.latency.getCount(), this.latency.percentile(0.5), this.latency.percentile(0.9),
+                this.latency.percentile(0.99), this.latency.percentile(0.999), this.latency.getMax());
+        System.out.printf("reconnects=%d missed=%d duplicates=%d clientErrors=%d%n", this.reconnects.get(), missed, duplicates, this.clientErrors.get());
+        if (heapBefore >= 0 && heapAfter >= 0 && connected > 0) {
+            System.out.printf("server heap per connection ~ %.1f KB%n", (heapAfter - heapBefore) / 1024.0 / connected);
+        }
+    }
+
+    private void awaitHealthy(Process server) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(120);
+        while (System.nanoTime() < deadline) {
+            if (!server.isAlive()) {
+                throw new IllegalStateException("Events server exited with " + server.exitValue());
+            }
+            try {
+                HttpResponse<String> response = this.httpClient.send(HttpRequest.newBuilder(this.base.resolve("/actuator/health")).build(), HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                Thread.sleep(500);
+            }
+        }
+        throw new IllegalStateException("Events server did not become healthy");
+    }
+
+    private int connect() throws InterruptedException {
+        URI uri = this.base.resolve("/events");
+        List<CompletableFuture<Integer>> statuses = new ArrayList<>(this.options.clients());
+        for (int i = 0; i < this.options.clients(); i++) {
+            SseLoadClient client = new SseLoadClient(this.httpClient, uri, "load-" + (i % this.options.eventIds()), this.latency, this.clientErrors);
+            this.clients.add(client);
+            statuses.add(client.connect());
+        }
+        int rejected = 0;
+        for (CompletableFuture<Integer> status : statuses) {
+            try {
+                if (status.get(30, TimeUnit.SECONDS) != 200) {
+                    rejected++;
+                }
+            } catch (Exception e) {
+                rejected++;
+            }
+        }
+        return rejected;
+    }
+
+    private void reconnect() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (SseLoadClient client : this.clients) {
+            if (!client.isConnected()) {
+                client.connect();
+            } else if (random.nextDouble() < this.options.reconnectFraction()) {
+                client.disconnect();
+                client.connect();
+                this.reconnects.incrementAndGet();
+            }
+        }
+    }
+
+    private long[] publish(RedisPublisher redisPublisher, long[] sequences) {
+        long[] published = new long[2];
+        URI uri = this.base.resolve("/events");
+        long periodNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, this.options.rate());
+        long startedAt = System.nanoTime();
+        long endAt = startedAt + this.options.duration().toNanos();
+        for (long i = 0; ; i++) {
+            long at = startedAt + i * periodNanos;
+            if (at >= endAt) {
+                return published;
+            }
+            long delay = at - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+            }
+            int index = (int) (i % sequences.length);
+            long sentAt = ChronoUnit.MICROS.between(Instant.EPOCH, Instant.now());
+            SseEmitterDto request = new SseEmitterDto("load-" + index, "load", Map.of("seq", sequences[index]++, "sentAt", sentAt), null, null, null);
+            if (ThreadLocalRandom.current().nextDouble() < this.options.redisShare()) {
+                request.setOrigin("loadtest");
+                request.setPublishedAt(System.currentTimeMillis());
+                redisPublisher.toMessage(request).whenComplete((receivers, throwable) -> this.countError(throwable));
+                published[1]++;
+            } else {
+                this.post(uri, request);
+                published[0]++;
+            }
+        }
+    }
+
+    private void post(URI uri, SseEmitterDto request) {
+        try {
+            HttpRequest post = HttpRequest.newBuilder(uri)
+                    .header("content-type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(this.objectMapper.writeValueAsBytes(request)))
+                    .build();
+            this.httpClient.sendAsync(post, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, throwable) -> this.countError(throwable != null || response.statusCode() != 200 ? new IllegalStateException() : null));
+        } catch (IOException e) {
+            this.publishErrors.incrementAndGet();
+        }
+    }
+
+    private void countError(Throwable throwable) {
+        if (throwable != null) {
+            this.publishErrors.incrementAndGet();
+        }
+    }
+
+    private RedisPublisher redisPublisher() {
+        EventsProperties eventsProperties = new EventsProperties();
+        eventsProperties.setNodeId("loadtest");
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(HOST, REDIS_PORT);
+        connectionFactory.afterPropertiesSet();
+        RedisEventCodec redisEventCodec = new RedisEventCodec(eventsProperties, this.objectMapper);
+        RedisTemplate<String, Object> redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.setKeySerializer(new StringRedisSerializer());
+        redisTemplate.setValueSerializer(redisEventCodec);
+        redisTemplate.afterPropertiesSet();
+        RedisPublisher redisPublisher = new RedisPublisher(eventsProperties, redisTemplate, new RedisChannel(ChannelTopic.of("topic")), null, redisEventCodec);
+        redisPublisher.start();
+        return redisPublisher;
+    }
+
+    private long heapUsed(Process server) throws InterruptedException {
+        Path jcmd = Path.of(System.getProperty("java.home"), "bin", "jcmd");
+        try {
+            if (Files.isExecutable(jcmd)) {
+                new ProcessBuilder(jcmd.toString(), String.valueOf(server.pid()), "GC.run")
+                        .redirectErrorStream(true)
+                        .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                        .start()
+                        .waitFor(30, TimeUnit.SECONDS);
+            }
+            HttpResponse<byte[]> response = this.httpClient.send(HttpRequest.newBuilder(this.base.resolve(HEAP_USED)).build(), HttpResponse.BodyHandlers.ofByteArray());
+            return this.objectMapper.readTree(response.body()).path("measurements").path(0).path("value").asLong(-1);
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+}
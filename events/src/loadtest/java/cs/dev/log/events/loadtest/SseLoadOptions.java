@@ -0,0 +1,59 @@
+package cs.dev.log.events.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+public class SseLoadOptions {
+    private final Map<String, String> values = new HashMap<>();
+
+    public SseLoadOptions(String[] args) {
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            int index = arg.indexOf('=');
+            this.values.put(arg.substring(2, index), arg.substring(index + 1));
+        }
+    }
+
+    public int port() {
+        return this.integer("port", 11130);
+    }
+
+    public int clients() {
+        return this.integer("clients", 1000);
+    }
+
+    public int eventIds() {
+        return this.integer("event-ids", 10);
+    }
+
+    public int rate() {
+        return this.integer("rate", 1000);
+    }
+
+    public double redisShare() {
+        return Double.parseDouble(this.values.getOrDefault("redis-share", "0.5"));
+    }
+
+    public Duration duration() {
+        return Duration.ofSeconds(this.integer("duration", 60));
+    }
+
+    public Duration reconnectInterval() {
+        return Duration.ofMillis(this.integer("reconnect-interval", 5000));
+    }
+
+    public double reconnectFraction() {
+        return Double.parseDouble(this.values.getOrDefault("reconnect-fraction", "0.05"));
+    }
+
+    public Duration settle() {
+        return Duration.ofSeconds(this.integer("settle", 5));
+    }
+
+    private int integer(String name, int defaultValue) {
+        return Integer.parseInt(this.values.getOrDefault(name, String.valueOf(defaultValue)));
+    }
+}
@@ -1,8 +1,11 @@
 package cs.dev.log.events.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import redis.embedded.RedisExecProvider;
 import redis.embedded.RedisServer;
+import redis.embedded.util.OS;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -13,9 +16,17 @@ public class EmbeddedRedisConfig {
     private static final String HEAP = "maxmemory 128M";
     private RedisServer redisServer;
 
+    @Value("${events.embedded-redis.executable:}")
+    private String executable;
+
     @PostConstruct
     public void redisServer() {
+        RedisExecProvider redisExecProvider = RedisExecProvider.defaultProvider();
+        if (!executable.isEmpty()) {
+            redisExecProvider.override(OS.UNIX, executable).override(OS.MAC_OS_X, executable);
+        }
         redisServer = RedisServer.builder()
+                .redisExecProvider(redisExecProvider)
                 .setting(HEAP)
                 .build();
         redisServer.start();
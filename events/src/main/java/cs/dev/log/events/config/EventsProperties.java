@@ -0,0 +1,113 @@
+package cs.dev.log.events.config;
+
+import cs.dev.log.events.handler.SseOverflowPolicy;
+import cs.dev.log.events.handler.SseReplayPersistence;
+import cs.dev.log.events.redis.RedisCodecFormat;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "events")
+public class EventsProperties {
+    private String nodeId = UUID.randomUUID().toString();
+    private Replay replay = new Replay();
+    private Fanout fanout = new Fanout();
+    private Heartbeat heartbeat = new Heartbeat();
+    private Publisher publisher = new Publisher();
+    private Conflation conflation = new Conflation();
+    private Codec codec = new Codec();
+    private Admission admission = new Admission();
+    private Drain drain = new Drain();
+    private Compression compression = new Compression();
+
+    @Setter
+    @Getter
+    public static class Replay {
+        private int depth = 256;
+        private DataSize maxBytes = DataSize.ofKilobytes(256);
+        private Duration maxAge = Duration.ofMinutes(5);
+        private int maxStreams = 10000;
+        private SseReplayPersistence persistence = SseReplayPersistence.MEMORY;
+        private Duration tailTtl = Duration.ofSeconds(1);
+    }
+
+    @Setter
+    @Getter
+    public static class Fanout {
+        private int queueCapacity = 64;
+        private SseOverflowPolicy overflowPolicy = SseOverflowPolicy.DROP_OLDEST;
+        private int writerThreads = Runtime.getRuntime().availableProcessors() * 2;
+        private int drainBatch = 16;
+        private int chunkSize = 256;
+        private int quantum = 32;
+        private Map<String, Integer> weights = new HashMap<>();
+    }
+
+    @Setter
+    @Getter
+    public static class Heartbeat {
+        private Duration interval = Duration.ofSeconds(15);
+        private Duration deadAfter = Duration.ofSeconds(45);
+        private int wheelSize = 64;
+    }
+
+    @Setter
+    @Getter
+    public static class Publisher {
+        private Duration window = Duration.ofMillis(2);
+        private int batchSize = 512;
+    }
+
+    @Setter
+    @Getter
+    public static class Conflation {
+        private Set<String> names = new HashSet<>();
+        private Duration flushInterval = Duration.ZERO;
+    }
+
+    @Setter
+    @Getter
+    public static class Codec {
+        private RedisCodecFormat format = RedisCodecFormat.JSON;
+    }
+
+    @Setter
+    @Getter
+    public static class Admission {
+        private int maxConnections = 10000;
+        private int maxConnectionsPerEvent = 1000;
+        private double acceptRate = 200;
+        private int acceptBurst = 400;
+        private Duration retryMin = Duration.ofSeconds(1);
+        private Duration retryMax = Duration.ofSeconds(10);
+    }
+
+    @Setter
+    @Getter
+    public static class Drain {
+        private Duration window = Duration.ofSeconds(10);
+        private Duration grace = Duration.ofSeconds(5);
+    }
+
+    @Setter
+    @Getter
+    public static class Compression {
+        private boolean enabled = false;
+        private int level = 6;
+        private DataSize threshold = DataSize.ofBytes(256);
+        private DataSize bufferSize = DataSize.ofKilobytes(8);
+        private int maxConnections = 1000;
+    }
+}
@@ -1,29 +1,28 @@
 package cs.dev.log.events.config;
 
-import cs.dev.log.events.handler.SseEmitterHandler;
+import cs.dev.log.events.handler.SseDrain;
+import cs.dev.log.events.redis.RedisEventCodec;
 import cs.dev.log.events.redis.RedisSubscriber;
-import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
 import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.listener.adapter.MessageListenerAdapter;
-import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
-@RequiredArgsConstructor
 @Configuration
 public class RedisConfig {
     private static final String HOST = "127.0.0.1";
     private static final int PORT = 6379;
     private static final String TOPIC = "topic";
-    private final SseEmitterHandler sseEmitterHandler;
 
     @Bean
-    public RedisConnectionFactory redisConnectionFactory() {
+    public LettuceConnectionFactory redisConnectionFactory() {
         return new LettuceConnectionFactory(HOST, PORT);
     }
 
@@ -32,25 +31,33 @@ public class RedisConfig {
         return new ChannelTopic(TOPIC);
     }
 
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
     @Bean
-    public MessageListenerAdapter messageListenerAdapter() {
-        return new MessageListenerAdapter(new RedisSubscriber(sseEmitterHandler));
+    public MessageListenerAdapter messageListenerAdapter(RedisSubscriber redisSubscriber) {
+        return new MessageListenerAdapter(redisSubscriber);
     }
 
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
     @Bean
     public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory redisConnectionFactory) {
         RedisMessageListenerContainer redisMessageListenerContainer = new RedisMessageListenerContainer();
         redisMessageListenerContainer.setConnectionFactory(redisConnectionFactory);
-        redisMessageListenerContainer.addMessageListener(this.messageListenerAdapter(), this.channelTopic());
+        redisMessageListenerContainer.setPhase(SseDrain.PHASE - 1);
         return redisMessageListenerContainer;
     }
 
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
     @Bean
-    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory redisConnectionFactory) {
+    public ReactiveRedisMessageListenerContainer reactiveRedisMessageListenerContainer(LettuceConnectionFactory redisConnectionFactory) {
+        return new ReactiveRedisMessageListenerContainer(redisConnectionFactory);
+    }
+
+    @Bean
+    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory redisConnectionFactory, RedisEventCodec redisEventCodec) {
         RedisTemplate<String, Object> redisTemplate = new RedisTemplate<>();
         redisTemplate.setConnectionFactory(redisConnectionFactory);
         redisTemplate.setKeySerializer(new StringRedisSerializer());
-        redisTemplate.setValueSerializer(new Jackson2JsonRedisSerializer<>(String.class));
+        redisTemplate.setValueSerializer(redisEventCodec);
         return redisTemplate;
     }
 }
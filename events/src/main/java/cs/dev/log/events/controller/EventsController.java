@@ -1,27 +1,91 @@
 package cs.dev.log.events.controller;
 
+import cs.dev.log.events.dto.SseBulkResultDto;
 import cs.dev.log.events.dto.SseEmitterDto;
+import cs.dev.log.events.dto.SseLatencyDto;
+import cs.dev.log.events.handler.SseAdmission;
+import cs.dev.log.events.handler.SseCompression;
+import cs.dev.log.events.handler.SseCompressor;
 import cs.dev.log.events.handler.SseEmitterHandler;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping(value = "/events")
 @RequiredArgsConstructor
 @RestController
 public class EventsController {
     private final SseEmitterHandler sseEmitterHandler;
+    private final SseAdmission sseAdmission;
+    private final SseCompression sseCompression;
 
     @GetMapping(produces = {MediaType.TEXT_EVENT_STREAM_VALUE})
-    public ResponseEntity<SseEmitter> get(@RequestHeader("event-id") String eventId, @RequestHeader(value = "last-event-id", required = false, defaultValue = "") String lastEventId) {
-        return ResponseEntity.ok(sseEmitterHandler.subscribe(eventId, lastEventId));
+    public ResponseEntity<ResponseBodyEmitter> get(@RequestHeader("event-id") String eventId, @RequestHeader(value = "last-event-id", required = false, defaultValue = "") String lastEventId, @RequestHeader(value = "accept-encoding", required = false, defaultValue = "") String acceptEncoding) {
+        if (!sseAdmission.admit(eventId)) {
+            long retry = sseAdmission.retry();
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(sseAdmission.retryAfter(retry)))
+                    .contentType(MediaType.TEXT_EVENT_STREAM)
+                    .body(this.reject(retry));
+        }
+        SseCompressor compressor = sseCompression.open(acceptEncoding);
+        ResponseBodyEmitter emitter;
+        try {
+            emitter = sseEmitterHandler.subscribe(eventId, lastEventId, compressor);
+        } catch (RuntimeException e) {
+            sseAdmission.release(eventId);
+            if (compressor != null) {
+                compressor.end();
+            }
+            throw e;
+        }
+        if (compressor == null) {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.TEXT_EVENT_STREAM)
+                    .body(emitter);
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .header(HttpHeaders.CONTENT_ENCODING, compressor.getEncoding().getToken())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .body(emitter);
+    }
+
+    @GetMapping(value = "/latency", produces = {MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Map<String, SseLatencyDto>> latency() {
+        return ResponseEntity.ok(sseEmitterHandler.latency());
     }
 
     @PostMapping(produces = {MediaType.APPLICATION_JSON_VALUE})
-    public ResponseEntity<?> post(@RequestBody SseEmitterDto request) {
-        sseEmitterHandler.send(request);
-        return ResponseEntity.ok().build();
+    public CompletableFuture<ResponseEntity<?>> post(@RequestBody SseEmitterDto request) {
+        return sseEmitterHandler.publish(request)
+                .thenApply(receivers -> ResponseEntity.ok().build());
+    }
+
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_NDJSON_VALUE}, produces = {MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<SseBulkResultDto> bulk(InputStream body) throws IOException {
+        return ResponseEntity.ok(sseEmitterHandler.ingest(body));
+    }
+
+    private ResponseBodyEmitter reject(long retry) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter();
+        try {
+            emitter.send(sseAdmission.retryFrame(retry), MediaType.TEXT_EVENT_STREAM);
+            emitter.complete();
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        }
+        return emitter;
     }
 }
@@ -0,0 +1,64 @@
+package cs.dev.log.events.controller;
+
+import cs.dev.log.events.dto.SseBulkResultDto;
+import cs.dev.log.events.dto.SseEmitterDto;
+import cs.dev.log.events.handler.ReactiveSseHandler;
+import cs.dev.log.events.handler.SseAdmission;
+import cs.dev.log.events.handler.SseCompression;
+import cs.dev.log.events.handler.SseCompressor;
+import cs.dev.log.events.handler.SseEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping(value = "/events")
+@RequiredArgsConstructor
+@RestController
+public class ReactiveEventsController {
+    private final ReactiveSseHandler reactiveSseHandler;
+    private final SseAdmission sseAdmission;
+    private final SseCompression sseCompression;
+
+    @GetMapping(produces = {MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Mono<Void> get(@RequestHeader("event-id") String eventId, @RequestHeader(value = "last-event-id", required = false, defaultValue = "") String lastEventId, @RequestHeader(value = "accept-encoding", required = false, defaultValue = "") String acceptEncoding, ServerHttpResponse response) {
+        response.getHeaders().setContentType(MediaType.TEXT_EVENT_STREAM);
+        if (!sseAdmission.admit(eventId)) {
+            long retry = sseAdmission.retry();
+            response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(sseAdmission.retryAfter(retry)));
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(sseAdmission.retryFrame(retry))));
+        }
+        Flux<byte[]> frames = reactiveSseHandler.subscribe(eventId, lastEventId)
+                .doFinally(signalType -> sseAdmission.release(eventId))
+                .map(SseEvent::getFrame);
+        SseCompressor compressor = sseCompression.open(acceptEncoding);
+        if (compressor != null) {
+            response.getHeaders().set(HttpHeaders.CONTENT_ENCODING, compressor.getEncoding().getToken());
+            response.getHeaders().set(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            frames = frames.map(frame -> compressor.encode(frame, false))
+                    .concatWith(Mono.fromSupplier(() -> compressor.encode(new byte[0], true)))
+                    .doFinally(signalType -> compressor.end());
+        }
+        return response.writeAndFlushWith(frames.map(frame -> Mono.just(response.bufferFactory().wrap(frame))));
+    }
+
+    @PostMapping(produces = {MediaType.APPLICATION_JSON_VALUE})
+    public Mono<ResponseEntity<?>> post(@RequestBody SseEmitterDto request) {
+        return reactiveSseHandler.publish(request)
+                .map(receivers -> ResponseEntity.ok().build());
+    }
+
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_NDJSON_VALUE}, produces = {MediaType.APPLICATION_JSON_VALUE})
+    public Mono<ResponseEntity<SseBulkResultDto>> bulk(@RequestBody Flux<String> lines) {
+        return reactiveSseHandler.ingest(lines)
+                .map(ResponseEntity::ok);
+    }
+}
@@ -0,0 +1,34 @@
+package cs.dev.log.events.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@NoArgsConstructor
+@Setter
+@Getter
+public class SseBulkResultDto {
+    private long accepted;
+    private List<Failure> failed = new ArrayList<>();
+
+    public synchronized void accept() {
+        this.accepted++;
+    }
+
+    public synchronized void fail(long line, String message) {
+        this.failed.add(new Failure(line, message));
+    }
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Setter
+    @Getter
+    public static class Failure {
+        private long line;
+        private String message;
+    }
+}
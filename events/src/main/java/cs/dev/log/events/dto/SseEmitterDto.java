@@ -13,4 +13,7 @@ public class SseEmitterDto {
     private String id;
     private String name;
     private Object data;
+    private Long sequence;
+    private String origin;
+    private Long publishedAt;
 }
@@ -0,0 +1,17 @@
+package cs.dev.log.events.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Setter
+@Getter
+public class SseLatencyDto {
+    private long count;
+    private long p50;
+    private long p99;
+    private long max;
+}
@@ -0,0 +1,25 @@
+package cs.dev.log.events.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Map;
+
+@NoArgsConstructor
+@Setter
+@Getter
+public class SseMetricsDto {
+    private long connections;
+    private Map<String, Integer> connectionsByEvent;
+    private long replayEntries;
+    private long replayBytes;
+    private SseLatencyDto publishToWrite;
+    private SseLatencyDto listenerLag;
+    private long written;
+    private long received;
+    private long sendFailures;
+    private long evictions;
+    private long queuedEvents;
+    private long maxQueueDepth;
+}
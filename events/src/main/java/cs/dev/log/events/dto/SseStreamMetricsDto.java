@@ -0,0 +1,18 @@
+package cs.dev.log.events.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Map;
+
+@NoArgsConstructor
+@Setter
+@Getter
+public class SseStreamMetricsDto {
+    private int connections;
+    private long replayEntries;
+    private long replayBytes;
+    private SseLatencyDto scheduling;
+    private Map<String, Integer> queueDepths;
+}
@@ -0,0 +1,69 @@
+package cs.dev.log.events.handler;
+
+import cs.dev.log.events.config.EventsProperties;
+import cs.dev.log.events.redis.RedisPublisher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+@Component
+public class ReactiveSseDrain implements SmartLifecycle {
+    private final EventsProperties eventsProperties;
+    private final ReactiveSseHandler reactiveSseHandler;
+    private final SseAdmission sseAdmission;
+    private final RedisPublisher redisPublisher;
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        this.running = true;
+    }
+
+    @Override
+    public void stop() {
+        this.drain();
+    }
+
+    @Override
+    public void stop(Runnable callback) {
+        Thread thread = new Thread(() -> {
+            try {
+                this.drain();
+            } finally {
+                callback.run();
+            }
+        }, "sse-drain");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    private void drain() {
+        EventsProperties.Drain drain = this.eventsProperties.getDrain();
+        this.sseAdmission.close();
+        try {
+            if (!this.redisPublisher.await(drain.getGrace())) {
+                log.warn("Publisher still had pending messages when draining started");
+            }
+            log.info("Draining {} SSE subscribers over {}", this.reactiveSseHandler.size(), drain.getWindow());
+            this.reactiveSseHandler.drain();
+            long deadline = System.nanoTime() + drain.getWindow().plus(drain.getGrace()).toNanos();
+            while (this.reactiveSseHandler.size() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            this.running = false;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package cs.dev.log.events.handler;
+
+import cs.dev.log.events.config.EventsProperties;
+import cs.dev.log.events.dto.SseBulkResultDto;
+import cs.dev.log.events.dto.SseEmitterDto;
+import cs.dev.log.events.metrics.SseMetrics;
+import cs.dev.log.events.redis.RedisChannel;
+import cs.dev.log.events.redis.RedisEventCodec;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Exceptions;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+@Component
+public class ReactiveSseHandler {
+    private static final Sinks.EmitFailureHandler RETRY_NON_SERIALIZED = (signalType, emitResult) -> emitResult == Sinks.EmitResult.FAIL_NON_SERIALIZED;
+    private static final RedisSerializationContext.SerializationPair<String> CHANNEL = RedisSerializationContext.SerializationPair.fromSerializer(RedisSerializer.string());
+    private static final RedisSerializationContext.SerializationPair<byte[]> BODY = RedisSerializationContext.SerializationPair.fromSerializer(RedisSerializer.byteArray());
+    private static final Duration RESUBSCRIBE = Duration.ofSeconds(1);
+    private static final Duration MAX_RESUBSCRIBE = Duration.ofSeconds(30);
+    private final EventsProperties eventsProperties;
+    private final SseReplayStore sseReplayStore;
+    private final ReactiveRedisMessageListenerContainer reactiveRedisMessageListenerContainer;
+    private final RedisChannel redisChannel;
+    private final SseBulkIngester sseBulkIngester;
+    private final SsePublisher ssePublisher;
+    private final RedisEventCodec redisEventCodec;
+    private final SseEventEncoder sseEventEncoder;
+    private final SseAdmission sseAdmission;
+    private final SseMetrics sseMetrics;
+    private final Sinks.Empty<Void> draining = Sinks.empty();
+    private final Map<String, EventStream> streams = new ConcurrentHashMap<>();
+
+    public Flux<SseEvent> subscribe(String eventId, String lastEventId) {
+        return Flux.defer(() -> {
+            EventStream stream = this.join(eventId);
+            Sinks.Many<SseEvent> live = Sinks.many().unicast().onBackpressureBuffer();
+            Disposable forwarding = stream.sink.asFlux()
+                    .subscribe(live::tryEmitNext, live::tryEmitError, live::tryEmitComplete);
+            AtomicLong replayed = new AtomicLong(-1);
+            Flux<SseEvent> events = Mono.fromCallable(() -> this.sseReplayStore.replay(eventId, lastEventId))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .flatMapIterable(replay -> replay)
+                    .doOnNext(event -> replayed.set(event.getSequence()))
+                    .concatWith(live.asFlux().filter(event -> event.getSequence() < 0 || event.getSequence() > replayed.get()));
+            AtomicLong lastSequence = new AtomicLong(-1);
+            long connectedAt = System.currentTimeMillis();
+            return this.backpressure(events)
+                    .doOnNext(event -> {
+                        if (event.getSequence() >= 0) {
+                            lastSequence.set(event.getSequence());
+                        }
+                        this.sseMetrics.written(event, connectedAt, System.currentTimeMillis());
+                    })
+                    .doOnError(Exceptions::isOverflow, throwable -> this.sseMetrics.evicted())
+                    .takeUntilOther(this.draining.asMono().then(Mono.defer(() -> Mono.delay(this.stagger()))))
+                    .concatWith(Mono.fromSupplier(() -> new SseEvent(-1, eventId, null,
+                            this.sseEventEncoder.retry(lastSequence.get(), this.sseAdmission.retry()), System.currentTimeMillis())))
+                    .doFinally(signalType -> {
+                        forwarding.dispose();
+                        this.leave(eventId, stream);
+                    });
+        });
+    }
+
+    public void drain() {
+        this.draining.tryEmitEmpty();
+    }
+
+    public int size() {
+        return this.streams.values().stream()
+                .mapToInt(stream -> stream.subscribers.get())
+                .sum();
+    }
+
+    public Mono<Long> publish(SseEmitterDto request) {
+        return Mono.fromCallable(() -> this.ssePublisher.publish(request, this::send))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(future -> Mono.fromFuture(future));
+    }
+
+    public List<CompletableFuture<Long>> publish(List<SseEmitterDto> requests) {
+        return this.ssePublisher.publish(requests, this::send);
+    }
+
+    public Mono<SseBulkResultDto> ingest(Flux<String> lines) {
+        SseBulkResultDto result = new SseBulkResultDto();
+        return lines.index((index, text) -> Tuples.of(index + 1, text))
+                .<Tuple2<Long, SseEmitterDto>>handle((line, sink) -> {
+                    SseEmitterDto request = this.sseBulkIngester.parse(line.getT1(), line.getT2(), result);
+                    if (request != null) {
+                        sink.next(Tuples.of(line.getT1(), request));
+                    }
+                })
+                .buffer(this.eventsProperties.getPublisher().getBatchSize())
+                .concatMap(batch -> Mono.fromRunnable(() -> {
+                            List<Long> numbers = new ArrayList<>(batch.size());
+                            List<SseEmitterDto> requests = new ArrayList<>(batch.size());
+                            batch.forEach(line -> {
+                                numbers.add(line.getT1());
+                                requests.add(line.getT2());
+                            });
+                            this.sseBulkIngester.await(numbers, this.publish(requests), result);
+                        })
+                        .subscribeOn(Schedulers.boundedElastic()))
+                .then(Mono.just(result));
+    }
+
+    public void send(SseEmitterDto request) {
+        SseEvent event = this.sseReplayStore.append(request);
+        EventStream stream = this.streams.get(request.getId());
+        if (stream != null) {
+            stream.sink.emitNext(event, RETRY_NON_SERIALIZED);
+        }
+    }
+
+    private Duration stagger() {
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(this.eventsProperties.getDrain().getWindow().toMillis() + 1));
+    }
+
+    private Flux<SseEvent> backpressure(Flux<SseEvent> events) {
+        EventsProperties.Fanout fanout = this.eventsProperties.getFanout();
+        switch (fanout.getOverflowPolicy()) {
+            case CONFLATE:
+                return events.onBackpressureLatest();
+            case DISCONNECT:
+                return events.onBackpressureBuffer(fanout.getQueueCapacity(), BufferOverflowStrategy.ERROR);
+            default:
+                return events.onBackpressureBuffer(fanout.getQueueCapacity(), event -> {
+                }, BufferOverflowStrategy.DROP_OLDEST);
+        }
+    }
+
+    private EventStream join(String eventId) {
+        return this.streams.compute(eventId, (key, stream) -> {
+            EventStream joined = stream == null ? new EventStream(this.listen(eventId)) : stream;
+            joined.subscribers.incrementAndGet();
+            return joined;
+        });
+    }
+
+    private void leave(String eventId, EventStream stream) {
+        this.streams.computeIfPresent(eventId, (key, current) -> {
+            if (current == stream && stream.subscribers.decrementAndGet() == 0) {
+                stream.subscription.dispose();
+                stream.sink.tryEmitComplete();
+                return null;
+            }
+            return current;
+        });
+    }
+
+    private Disposable listen(String eventId) {
+        return this.reactiveRedisMessageListenerContainer
+                .receive(Collections.singletonList(this.redisChannel.of(eventId)), CHANNEL, BODY)
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, RESUBSCRIBE)
+                        .maxBackoff(MAX_RESUBSCRIBE)
+                        .doBeforeRetry(signal -> log.warn("Resubscribing to {} after listener failure", eventId, signal.failure())))
+                .subscribe(message -> this.receive(eventId, message.getMessage()));
+    }
+
+    private void receive(String eventId, byte[] body) {
+        try {
+            SseEmitterDto message = this.redisEventCodec.deserialize(body);
+            if (message == null) {
+                return;
+            }
+            this.sseMetrics.received(message, System.currentTimeMillis());
+            if (!this.eventsProperties.getNodeId().equals(message.getOrigin())) {
+                this.send(message);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Dropping message for {} that could not be delivered", eventId, e);
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class EventStream {
+        private final Disposable subscription;
+        private final Sinks.Many<SseEvent> sink = Sinks.many().multicast().directBestEffort();
+        private final AtomicInteger subscribers = new AtomicInteger();
+    }
+}
@@ -0,0 +1,99 @@
+package cs.dev.log.events.handler;
+
+import cs.dev.log.events.config.EventsProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@RequiredArgsConstructor
+@Component
+public class SseAdmission {
+    private final EventsProperties eventsProperties;
+    private final SseEventEncoder sseEventEncoder;
+    private final AtomicInteger connections = new AtomicInteger();
+    private final Map<String, Integer> subscriptions = new ConcurrentHashMap<>();
+    private double tokens = -1;
+    private long refilledAt;
+    private volatile boolean closed;
+
+    public boolean admit(String eventId) {
+        if (this.closed) {
+            return false;
+        }
+        EventsProperties.Admission admission = this.eventsProperties.getAdmission();
+        if (this.connections.incrementAndGet() > admission.getMaxConnections()) {
+            this.connections.decrementAndGet();
+            return false;
+        }
+        boolean[] admitted = {false};
+        this.subscriptions.compute(eventId, (key, count) -> {
+            int current = count == null ? 0 : count;
+            admitted[0] = current < admission.getMaxConnectionsPerEvent();
+            return admitted[0] ? current + 1 : count;
+        });
+        if (!admitted[0]) {
+            this.connections.decrementAndGet();
+            return false;
+        }
+        if (!this.acquire(admission)) {
+            this.release(eventId);
+            return false;
+        }
+        return true;
+    }
+
+    public void release(String eventId) {
+        this.connections.decrementAndGet();
+        this.subscriptions.computeIfPresent(eventId, (key, count) -> count <= 1 ? null : count - 1);
+    }
+
+    public long retry() {
+        EventsProperties.Admission admission = this.eventsProperties.getAdmission();
+        long min = admission.getRetryMin().toMillis();
+        long max = Math.max(min, admission.getRetryMax().toMillis());
+        return ThreadLocalRandom.current().nextLong(min, max + 1);
+    }
+
+    public long retryAfter(long retry) {
+        return Math.max(1, (retry + TimeUnit.SECONDS.toMillis(1) - 1) / TimeUnit.SECONDS.toMillis(1));
+    }
+
+    public byte[] retryFrame(long retry) {
+        return this.sseEventEncoder.retry(-1, retry);
+    }
+
+    public void close() {
+        this.closed = true;
+    }
+
+    public int size() {
+        return this.connections.get();
+    }
+
+    public Map<String, Integer> subscriptions() {
+        return new HashMap<>(this.subscriptions);
+    }
+
+    private synchronized boolean acquire(EventsProperties.Admission admission) {
+        long now = System.nanoTime();
+        double burst = admission.getAcceptBurst();
+        if (this.tokens < 0) {
+            this.tokens = burst;
+        } else {
+            double refill = (now - this.refilledAt) * admission.getAcceptRate() / TimeUnit.SECONDS.toNanos(1);
+            this.tokens = Math.min(burst, this.tokens + refill);
+        }
+        this.refilledAt = now;
+        if (this.tokens < 1) {
+            return false;
+        }
+        this.tokens--;
+        return true;
+    }
+}
@@ -0,0 +1,49 @@
+package cs.dev.log.events.handler;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import cs.dev.log.events.dto.SseBulkResultDto;
+import cs.dev.log.events.dto.SseEmitterDto;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+@Component
+public class SseBulkIngester {
+    private final ObjectReader objectReader;
+
+    public SseBulkIngester(ObjectMapper objectMapper) {
+        this.objectReader = objectMapper.readerFor(SseEmitterDto.class);
+    }
+
+    public SseEmitterDto parse(long line, String text, SseBulkResultDto result) {
+        if (text.isBlank()) {
+            return null;
+        }
+        try {
+            SseEmitterDto request = this.objectReader.readValue(text);
+            if (request.getId() == null || request.getId().isEmpty()) {
+                result.fail(line, "id is required");
+                return null;
+            }
+            return request;
+        } catch (JsonProcessingException e) {
+            result.fail(line, e.getOriginalMessage());
+            return null;
+        }
+    }
+
+    public void await(List<Long> lines, List<CompletableFuture<Long>> futures, SseBulkResultDto result) {
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                futures.get(i).join();
+                result.accept();
+            } catch (CompletionException e) {
+                result.fail(lines.get(i), e.getCause().getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package cs.dev.log.events.handler;
+
+import cs.dev.log.events.config.EventsProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@RequiredArgsConstructor
+@Component
+public class SseCompression {
+    private final EventsProperties eventsProperties;
+    private final AtomicInteger active = new AtomicInteger();
+
+    public SseCompressor open(String acceptEncoding) {
+        EventsProperties.Compression compression = this.eventsProperties.getCompression();
+        if (!compression.isEnabled()) {
+            return null;
+        }
+        SseEncoding encoding = this.negotiate(acceptEncoding);
+        if (encoding == null) {
+            return null;
+        }
+        if (this.active.incrementAndGet() > compression.getMaxConnections()) {
+            this.active.decrementAndGet();
+            return null;
+        }
+        return new SseCompressor(encoding, compression.getLevel(), (int) compression.getThreshold().toBytes(),
+                (int) compression.getBufferSize().toBytes(), this.active::decrementAndGet);
+    }
+
+    private SseEncoding negotiate(String acceptEncoding) {
+        boolean gzip = false;
+        boolean deflate = false;
+        for (String part : acceptEncoding.toLowerCase(Locale.ROOT).split(",")) {
+            String[] tokens = part.trim().split(";");
+            if (this.rejected(tokens)) {
+                continue;
+            }
+            String coding = tokens[0].trim();
+            gzip |= coding.equals(SseEncoding.GZIP.getToken()) || coding.equals("*");
+            deflate |= coding.equals(SseEncoding.DEFLATE.getToken());
+        }
+        return gzip ? SseEncoding.GZIP : deflate ? SseEncoding.DEFLATE : null;
+    }
+
+    private boolean rejected(String[] tokens) {
+        for (int i = 1; i < tokens.length; i++) {
+            String parameter = tokens[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2)) <= 0;
+                } catch (NumberFormatException e) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,96 @@
+package cs.dev.log.events.handler;
+
+import lombok.Getter;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+public class SseCompressor {
+    private static final byte[] EMPTY = new byte[0];
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+    @Getter
+    private final SseEncoding encoding;
+    private final int level;
+    private final int threshold;
+    private final byte[] buffer;
+    private final Deflater deflater;
+    private final CRC32 crc = new CRC32();
+    private final Runnable onEnd;
+    private int currentLevel;
+    private boolean started;
+    private boolean ended;
+
+    public SseCompressor(SseEncoding encoding, int level, int threshold, int bufferSize, Runnable onEnd) {
+        this.encoding = encoding;
+        this.level = level;
+        this.threshold = threshold;
+        this.buffer = new byte[bufferSize];
+        this.deflater = new Deflater(level, encoding == SseEncoding.GZIP);
+        this.currentLevel = level;
+        this.onEnd = onEnd;
+    }
+
+    public synchronized byte[] encode(byte[] frame, boolean last) {
+        if (this.ended) {
+            return EMPTY;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.min(frame.length, this.buffer.length) + GZIP_HEADER.length);
+        if (!this.started) {
+            this.started = true;
+            if (this.encoding == SseEncoding.GZIP) {
+                out.write(GZIP_HEADER, 0, GZIP_HEADER.length);
+            }
+        }
+        this.level(frame.length < this.threshold ? Deflater.NO_COMPRESSION : this.level, out);
+        this.deflater.setInput(frame);
+        if (this.encoding == SseEncoding.GZIP) {
+            this.crc.update(frame);
+        }
+        if (last) {
+            this.deflater.finish();
+            while (!this.deflater.finished()) {
+                out.write(this.buffer, 0, this.deflater.deflate(this.buffer));
+            }
+            if (this.encoding == SseEncoding.GZIP) {
+                this.trailer(out, this.crc.getValue());
+                this.trailer(out, this.deflater.getBytesRead());
+            }
+            this.end();
+        } else {
+            this.deflate(out, Deflater.SYNC_FLUSH);
+        }
+        return out.toByteArray();
+    }
+
+    public synchronized void end() {
+        if (!this.ended) {
+            this.ended = true;
+            this.deflater.end();
+            this.onEnd.run();
+        }
+    }
+
+    private void level(int level, ByteArrayOutputStream out) {
+        if (level != this.currentLevel) {
+            this.currentLevel = level;
+            this.deflater.setLevel(level);
+            this.deflater.setInput(EMPTY);
+            this.deflate(out, Deflater.NO_FLUSH);
+        }
+    }
+
+    private void deflate(ByteArrayOutputStream out, int flush) {
+        int length;
+        do {
+            length = this.deflater.deflate(this.buffer, 0, this.buffer.length, flush);
+            out.write(this.buffer, 0, length);
+        } while (length == this.buffer.length);
+    }
+
+    private void trailer(ByteArrayOutputStream out, long value) {
+        for (int i = 0; i < 4; i++) {
+            out.write((int) (value >>> (i * 8)) & 0xff);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package cs.dev.log.events.handler;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@RequiredArgsConstructor
+@Getter
+public class SseConnection {
+    private final String id;
+    private final String eventId;
+    private final ResponseBodyEmitter emitter;
+    private final SseCompressor compressor;
+    private final long connectedAt = System.currentTimeMillis();
+    private final Deque<SseEvent> queue = new ArrayDeque<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean(true);
+    private volatile boolean closed;
+    private volatile long lastWrittenAt = System.currentTimeMillis();
+    private volatile long writingSince;
+    private volatile long lastSequence = -1;
+    private long replayed = -1;
+    private volatile long retry = -1;
+
+    public synchronized boolean offer(SseEvent event, int capacity, SseOverflowPolicy policy, boolean conflate) {
+        if (this.closed) {
+            return false;
+        }
+        if (event.getSequence() >= 0 && event.getSequence() <= this.replayed) {
+            return true;
+        }
+        if (conflate) {
+            this.queue.removeIf(queued -> Objects.equals(queued.getName(), event.getName()));
+        }
+        if (this.queue.size() >= capacity) {
+            switch (policy) {
+                case DISCONNECT:
+                    return false;
+                case CONFLATE:
+                    if (!this.queue.removeIf(queued -> Objects.equals(queued.getName(), event.getName()))) {
+                        this.queue.pollFirst();
+                    }
+                    break;
+                default:
+                    this.queue.pollFirst();
+            }
+        }
+        this.queue.offerLast(event);
+        return true;
+    }
+
+    public synchronized void offerAll(Collection<SseEvent> events) {
+        long replayed = Math.max(this.lastSequence, this.replayed);
+        Deque<SseEvent> merged = new ArrayDeque<>(events.size() + this.queue.size());
+        for (SseEvent event : events) {
+            if (event.getSequence() > replayed) {
+                merged.offerLast(event);
+                replayed = event.getSequence();
+            }
+        }
+        for (SseEvent event : this.queue) {
+            if (event.getSequence() < 0 || event.getSequence() > replayed) {
+                merged.offerLast(event);
+            }
+        }
+        this.queue.clear();
+        this.queue.addAll(merged);
+        this.replayed = replayed;
+    }
+
+    public synchronized List<SseEvent> poll(int max) {
+        List<SseEvent> events = new ArrayList<>(Math.min(max, this.queue.size()));
+        while (events.size() < max && !this.queue.isEmpty()) {
+            events.add(this.queue.pollFirst());
+        }
+        return events;
+    }
+
+    public synchronized boolean isEmpty() {
+        return this.queue.isEmpty();
+    }
+
+    public synchronized int size() {
+        return this.queue.size();
+    }
+
+    public void beginWrite(long now) {
+        this.writingSince = now;
+    }
+
+    public void endWrite(long now) {
+        this.writingSince = 0;
+        this.lastWrittenAt = now;
+    }
+
+    public byte[] encode(byte[] frame, boolean last) {
+        return this.compressor == null ? frame : this.compressor.encode(frame, last);
+    }
+
+    public void acknowledge(List<SseEvent> events) {
+        for (SseEvent event : events) {
+            if (event.getSequence() >= 0) {
+                this.lastSequence = event.getSequence();
+            }
+        }
+    }
+
+    public void retire(long retry) {
+        this.retry = retry;
+    }
+
+    public boolean isRetiring() {
+        return this.retry >= 0;
+    }
+
+    public boolean isStalled(long notBefore) {
+        long since = this.writingSince;
+        return since != 0 ? since < notBefore : this.lastWrittenAt < notBefore && !this.isEmpty();
+    }
+
+    public boolean acquire() {
+        return !this.closed && this.scheduled.compareAndSet(false, true);
+    }
+
+    public void release() {
+        this.scheduled.set(false);
+    }
+
+    public synchronized boolean close() {
+        if (this.closed) {
+            return false;
+        }
+        this.closed = true;
+        this.queue.clear();
+        if (this.compressor != null) {
+            this.compressor.end();
+        }
+        return true;
+    }
+}
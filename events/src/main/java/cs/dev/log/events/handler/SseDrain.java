@@ -0,0 +1,88 @@
+package cs.dev.log.events.handler;
+
+import cs.dev.log.events.config.EventsProperties;
+import cs.dev.log.events.redis.RedisPublisher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+@Slf4j
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+@Component
+public class SseDrain implements SmartLifecycle {
+    public static final int PHASE = SmartLifecycle.DEFAULT_PHASE;
+    private final EventsProperties eventsProperties;
+    private final SseEmitterRegistry sseEmitterRegistry;
+    private final SseFanout sseFanout;
+    private final SseAdmission sseAdmission;
+    private final RedisPublisher redisPublisher;
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        this.running = true;
+    }
+
+    @Override
+    public void stop() {
+        this.drain();
+    }
+
+    @Override
+    public void stop(Runnable callback) {
+        Thread thread = new Thread(() -> {
+            try {
+                this.drain();
+            } finally {
+                callback.run();
+            }
+        }, "sse-drain");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    private void drain() {
+        EventsProperties.Drain drain = this.eventsProperties.getDrain();
+        this.sseAdmission.close();
+        try {
+            if (!this.redisPublisher.await(drain.getGrace())) {
+                log.warn("Publisher still had pending messages when draining started");
+            }
+            List<SseConnection> connections = this.sseEmitterRegistry.all();
+            log.info("Draining {} SSE connections over {}", connections.size(), drain.getWindow());
+            long startedAt = System.nanoTime();
+            long window = drain.getWindow().toNanos();
+            for (int i = 0; i < connections.size(); i++) {
+                long delay = startedAt + window * i / connections.size() - System.nanoTime();
+                if (delay > 0) {
+                    LockSupport.parkNanos(delay);
+                }
+                this.sseFanout.retire(connections.get(i), this.sseAdmission.retry());
+            }
+            long deadline = System.nanoTime() + drain.getGrace().toNanos();
+            while (!this.sseEmitterRegistry.all().isEmpty() && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            this.running = false;
+        }
+    }
+}
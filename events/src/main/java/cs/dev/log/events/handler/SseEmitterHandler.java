@@ -1,75 +1,101 @@
 package cs.dev.log.events.handler;
 
+import cs.dev.log.events.config.EventsProperties;
+import cs.dev.log.events.dto.SseBulkResultDto;
 import cs.dev.log.events.dto.SseEmitterDto;
-import org.springframework.http.MediaType;
+import cs.dev.log.events.dto.SseLatencyDto;
+import cs.dev.log.events.redis.RedisChannelSubscriptions;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.stereotype.Component;
-import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
+import java.io.BufferedReader;
 import java.io.IOException;
-import java.util.LinkedHashMap;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
 
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
 @Component
 public class SseEmitterHandler {
-    private final Map<String, SseEmitter> emitters = new ConcurrentHashMap<>();
-    private final Map<String, Map<String, Object>> caches = new ConcurrentHashMap<>();
+    private final EventsProperties eventsProperties;
+    private final SseEmitterRegistry sseEmitterRegistry;
+    private final SseReplayStore sseReplayStore;
+    private final SseFanout sseFanout;
+    private final SseHeartbeat sseHeartbeat;
+    private final SseBulkIngester sseBulkIngester;
+    private final SsePublisher ssePublisher;
+    private final RedisChannelSubscriptions redisChannelSubscriptions;
 
-    public SseEmitter subscribe(String eventId, String lastEventId) {
-        String emitterId = eventId + "_" + System.currentTimeMillis();
-        SseEmitter emitter = new SseEmitter(Long.MAX_VALUE);
+    public ResponseBodyEmitter subscribe(String eventId, String lastEventId, SseCompressor compressor) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(Long.MAX_VALUE);
+        SseConnection connection = this.sseEmitterRegistry.register(eventId, emitter, compressor);
 
-        this.emitters.put(emitterId, emitter);
+        emitter.onCompletion(() -> this.sseFanout.discard(connection));
+        emitter.onTimeout(() -> this.sseFanout.close(connection, null));
+        emitter.onError(throwable -> this.sseFanout.discard(connection));
+        this.sseHeartbeat.register(connection);
 
-        emitter.onCompletion(() -> this.emitters.remove(emitterId));
-
-        emitter.onTimeout(() -> {
-            emitter.complete();
-            this.emitters.remove(emitterId);
+        this.redisChannelSubscriptions.subscribed(eventId).whenComplete((ignored, throwable) -> {
+            try {
+                this.sseFanout.replay(connection, this.sseReplayStore.replay(eventId, lastEventId));
+            } catch (RuntimeException e) {
+                this.sseFanout.close(connection, e);
+            }
         });
 
-        if (!lastEventId.isEmpty()) {
-            Map<String, Map<String, Object>> cacheMap = this.caches.entrySet().stream()
-                    .filter(entry -> entry.getKey().startsWith(eventId))
-                    .filter(entry -> lastEventId.compareTo(entry.getKey()) < 0)
-                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        return emitter;
+    }
 
-            cacheMap.forEach((id, data) -> {
-                String name = data.keySet().stream().findFirst().orElse("lost");
-                this.send(emitter, id, name, data.get(name));
-                this.caches.remove(id);
-            });
+    public CompletableFuture<Long> publish(SseEmitterDto request) {
+        return this.ssePublisher.publish(request, this::send);
+    }
+
+    public List<CompletableFuture<Long>> publish(List<SseEmitterDto> requests) {
+        return this.ssePublisher.publish(requests, this::send);
+    }
 
-            if (cacheMap.keySet().size() < 1) {
-                this.caches.keySet().forEach(this.caches::remove);
+    public SseBulkResultDto ingest(InputStream body) throws IOException {
+        int batchSize = this.eventsProperties.getPublisher().getBatchSize();
+        SseBulkResultDto result = new SseBulkResultDto();
+        List<SseEmitterDto> requests = new ArrayList<>(batchSize);
+        List<Long> lines = new ArrayList<>(batchSize);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            long line = 0;
+            String text;
+            while ((text = reader.readLine()) != null) {
+                line++;
+                SseEmitterDto request = this.sseBulkIngester.parse(line, text, result);
+                if (request == null) {
+                    continue;
+                }
+                requests.add(request);
+                lines.add(line);
+                if (requests.size() == batchSize) {
+                    this.sseBulkIngester.await(lines, this.publish(requests), result);
+                    requests = new ArrayList<>(batchSize);
+                    lines = new ArrayList<>(batchSize);
+                }
             }
         }
-
-        return emitter;
+        if (!requests.isEmpty()) {
+            this.sseBulkIngester.await(lines, this.publish(requests), result);
+        }
+        return result;
     }
 
-    public void send(SseEmitterDto request) {
-        this.emitters.entrySet().stream()
-                .filter(entry -> entry.getKey().startsWith(request.getId()))
-                .forEach(entry -> {
-                    Map<String, Object> dataMap = new LinkedHashMap<>();
-                    dataMap.put(request.getName(), request.getData());
-                    this.caches.put(entry.getKey(), dataMap);
-                    this.send(entry.getValue(), entry.getKey(), request.getName(), request.getData());
-                });
+    public Map<String, SseLatencyDto> latency() {
+        return this.sseFanout.latency();
     }
 
-    private void send(SseEmitter emitter, String id, String name, Object data) {
-        try {
-            SseEmitter.SseEventBuilder sseEventBuilder = SseEmitter.event()
-                    .id(id)
-                    .name(name)
-                    .data(data, MediaType.APPLICATION_JSON);
-            emitter.send(sseEventBuilder);
-        } catch (IOException e) {
-            this.emitters.remove(id);
-            emitter.completeWithError(e);
-        }
+    public void send(SseEmitterDto request) {
+        SseEvent event = this.sseReplayStore.append(request);
+        this.sseFanout.broadcast(this.sseEmitterRegistry.get(request.getId()), event);
     }
 }
@@ -0,0 +1,72 @@
+package cs.dev.log.events.handler;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Component
+public class SseEmitterRegistry {
+    private static final String DELIMITER = "_";
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, Set<SseConnection>> subscriptions = new ConcurrentHashMap<>();
+    private final List<SseSubscriptionListener> listeners = new CopyOnWriteArrayList<>();
+
+    public void addListener(SseSubscriptionListener listener) {
+        this.listeners.add(listener);
+    }
+
+    public SseConnection register(String eventId, ResponseBodyEmitter emitter, SseCompressor compressor) {
+        SseConnection connection = new SseConnection(eventId + DELIMITER + sequence.incrementAndGet(), eventId, emitter, compressor);
+        boolean[] first = {false};
+        this.subscriptions.compute(eventId, (key, connections) -> {
+            Set<SseConnection> set = connections == null ? ConcurrentHashMap.newKeySet() : connections;
+            first[0] = connections == null;
+            set.add(connection);
+            return set;
+        });
+        if (first[0]) {
+            this.notify(eventId);
+        }
+        return connection;
+    }
+
+    public void remove(SseConnection connection) {
+        boolean[] last = {false};
+        this.subscriptions.computeIfPresent(connection.getEventId(), (key, connections) -> {
+            last[0] = connections.remove(connection) && connections.isEmpty();
+            return connections.isEmpty() ? null : connections;
+        });
+        if (last[0]) {
+            this.notify(connection.getEventId());
+        }
+    }
+
+    public Collection<SseConnection> get(String eventId) {
+        return this.subscriptions.getOrDefault(eventId, Collections.emptySet());
+    }
+
+    public List<SseConnection> all() {
+        List<SseConnection> connections = new ArrayList<>();
+        this.subscriptions.values().forEach(connections::addAll);
+        return connections;
+    }
+
+    public int size(String eventId) {
+        return this.get(eventId).size();
+    }
+
+    private void notify(String eventId) {
+        this.listeners.forEach(listener -> listener.onSubscriptionChanged(eventId));
+    }
+}
@@ -0,0 +1,13 @@
+package cs.dev.log.events.handler;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+@Getter
+public enum SseEncoding {
+    GZIP("gzip"),
+    DEFLATE("deflate");
+
+    private final String token;
+}
@@ -0,0 +1,14 @@
+package cs.dev.log.events.handler;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+@Getter
+public class SseEvent {
+    private final long sequence;
+    private final String eventId;
+    private final String name;
+    private final byte[] frame;
+    private final long createdAt;
+}
@@ -0,0 +1,62 @@
+package cs.dev.log.events.handler;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Pattern;
+
+@RequiredArgsConstructor
+@Component
+public class SseEventEncoder {
+    private static final byte[] ID = "id:".getBytes(StandardCharsets.UTF_8);
+    private static final char NEW_LINE = '\n';
+    private static final Pattern LINES = Pattern.compile("\r\n|\r|\n");
+    private final ObjectMapper objectMapper;
+
+    public byte[] body(String name, Object data) {
+        StringBuilder builder = new StringBuilder();
+        if (name != null) {
+            builder.append("event:").append(name).append(NEW_LINE);
+        }
+        for (String line : LINES.split(this.text(data), -1)) {
+            builder.append("data:").append(line).append(NEW_LINE);
+        }
+        return builder.append(NEW_LINE).toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    public byte[] frame(long sequence, byte[] body) {
+        byte[] id = Long.toString(sequence).getBytes(StandardCharsets.US_ASCII);
+        byte[] frame = new byte[ID.length + id.length + 1 + body.length];
+        System.arraycopy(ID, 0, frame, 0, ID.length);
+        System.arraycopy(id, 0, frame, ID.length, id.length);
+        frame[ID.length + id.length] = (byte) NEW_LINE;
+        System.arraycopy(body, 0, frame, ID.length + id.length + 1, body.length);
+        return frame;
+    }
+
+    public byte[] retry(long sequence, long retry) {
+        StringBuilder builder = new StringBuilder();
+        if (sequence >= 0) {
+            builder.append("id:").append(sequence).append(NEW_LINE);
+        }
+        builder.append("retry:").append(retry).append(NEW_LINE);
+        return builder.append(NEW_LINE).toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private String text(Object data) {
+        if (data == null) {
+            return "";
+        }
+        if (data instanceof CharSequence) {
+            return data.toString();
+        }
+        try {
+            return this.objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
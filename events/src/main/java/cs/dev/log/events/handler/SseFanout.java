@@ -0,0 +1,296 @@
+package cs.dev.log.events.handler;
+
+import cs.dev.log.events.config.EventsProperties;
+import cs.dev.log.events.dto.SseLatencyDto;
+import cs.dev.log.events.metrics.SseMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+@Component
+public class SseFanout {
+    private final EventsProperties eventsProperties;
+    private final SseEmitterRegistry sseEmitterRegistry;
+    private final SseAdmission sseAdmission;
+    private final SseEventEncoder sseEventEncoder;
+    private final SseMetrics sseMetrics;
+    private final Map<String, Stream> streams = new ConcurrentHashMap<>();
+    private ExecutorService writers;
+    private ScheduledExecutorService delays;
+
+    @PostConstruct
+    public void start() {
+        this.writers = Executors.newFixedThreadPool(this.eventsProperties.getFanout().getWriterThreads(), new CustomizableThreadFactory("sse-writer-"));
+        this.delays = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("sse-flush-"));
+    }
+
+    @PreDestroy
+    public void stop() {
+        this.delays.shutdownNow();
+        this.writers.shutdown();
+    }
+
+    public void broadcast(Collection<SseConnection> connections, SseEvent event) {
+        if (connections.isEmpty()) {
+            return;
+        }
+        Stream stream = this.stream(event.getEventId());
+        stream.broadcasts.add(new Broadcast(connections, event));
+        this.dispatch(stream);
+    }
+
+    public void replay(SseConnection connection, List<SseEvent> events) {
+        connection.offerAll(events);
+        connection.release();
+        if (!connection.isEmpty()) {
+            this.schedule(connection);
+        }
+    }
+
+    public void heartbeat(SseConnection connection, SseEvent heartbeat) {
+        if (connection.isEmpty() && connection.offer(heartbeat, 1, SseOverflowPolicy.DROP_OLDEST, false)) {
+            this.schedule(connection);
+        }
+    }
+
+    public void retire(SseConnection connection, long retry) {
+        connection.retire(retry);
+        if (connection.acquire()) {
+            this.submit(connection);
+        }
+    }
+
+    public void discard(SseConnection connection) {
+        this.sseEmitterRegistry.remove(connection);
+        if (connection.close()) {
+            this.sseAdmission.release(connection.getEventId());
+        }
+    }
+
+    public void close(SseConnection connection, Throwable throwable) {
+        this.sseEmitterRegistry.remove(connection);
+        if (connection.close()) {
+            this.sseAdmission.release(connection.getEventId());
+            if (throwable == null) {
+                connection.getEmitter().complete();
+            } else {
+                connection.getEmitter().completeWithError(throwable);
+            }
+        }
+    }
+
+    public Map<String, SseLatencyDto> latency() {
+        Map<String, SseLatencyDto> latency = new LinkedHashMap<>();
+        this.streams.forEach((eventId, stream) -> latency.put(eventId, stream.latency.snapshot()));
+        return latency;
+    }
+
+    public void sweep() {
+        this.streams.entrySet().removeIf(entry -> entry.getValue().isIdle() && this.sseEmitterRegistry.size(entry.getKey()) == 0);
+    }
+
+    private Stream stream(String eventId) {
+        return this.streams.computeIfAbsent(eventId, Stream::new);
+    }
+
+    private void schedule(SseConnection connection) {
+        if (connection.acquire()) {
+            long delay = connection.getLastWrittenAt() + this.eventsProperties.getConflation().getFlushInterval().toMillis() - System.currentTimeMillis();
+            if (delay > 0 && !connection.isRetiring()) {
+                try {
+                    this.delays.schedule(() -> this.submit(connection), delay, TimeUnit.MILLISECONDS);
+                } catch (RejectedExecutionException e) {
+                    connection.release();
+                }
+            } else {
+                this.submit(connection);
+            }
+        }
+    }
+
+    private void submit(SseConnection connection) {
+        try {
+            this.writers.execute(() -> this.drain(connection));
+        } catch (RejectedExecutionException e) {
+            connection.release();
+        }
+    }
+
+    private void dispatch(Stream stream) {
+        if (stream.scheduled.compareAndSet(false, true)) {
+            try {
+                this.writers.execute(() -> this.run(stream));
+            } catch (RejectedExecutionException e) {
+                stream.scheduled.set(false);
+            }
+        }
+    }
+
+    private void run(Stream stream) {
+        EventsProperties.Fanout fanout = this.eventsProperties.getFanout();
+        int quantum = fanout.getQuantum() * Math.max(1, stream.weight(fanout));
+        for (int i = 0; i < quantum; i++) {
+            Broadcast broadcast = stream.broadcasts.peek();
+            if (broadcast == null) {
+                break;
+            }
+            try {
+                if (this.deliver(broadcast)) {
+                    stream.broadcasts.poll();
+                    stream.latency.record(System.nanoTime() - broadcast.enqueuedAt);
+                }
+            } catch (RuntimeException e) {
+                stream.broadcasts.poll();
+                log.warn("Fan-out of event {} failed", broadcast.event.getSequence(), e);
+            }
+        }
+        stream.scheduled.set(false);
+        if (!stream.isEmpty()) {
+            this.dispatch(stream);
+        }
+    }
+
+    private boolean deliver(Broadcast broadcast) {
+        EventsProperties.Fanout fanout = this.eventsProperties.getFanout();
+        SseEvent event = broadcast.event;
+        boolean conflate = this.eventsProperties.getConflation().getNames().contains(event.getName());
+        if (broadcast.cursor == null) {
+            broadcast.cursor = broadcast.connections.iterator();
+        }
+        for (int i = 0; i < fanout.getChunkSize() && broadcast.cursor.hasNext(); i++) {
+            SseConnection connection = broadcast.cursor.next();
+            if (connection.offer(event, fanout.getQueueCapacity(), fanout.getOverflowPolicy(), conflate)) {
+                this.schedule(connection);
+            } else {
+                this.sseMetrics.evicted();
+                this.close(connection, null);
+            }
+        }
+        return !broadcast.cursor.hasNext();
+    }
+
+    private void drain(SseConnection connection) {
+        if (connection.isRetiring()) {
+            this.retire(connection);
+            connection.release();
+            return;
+        }
+        List<SseEvent> events = connection.poll(this.eventsProperties.getFanout().getDrainBatch());
+        if (!events.isEmpty() && !this.write(connection, this.frame(events), false)) {
+            connection.release();
+            return;
+        }
+        connection.acknowledge(events);
+        this.written(connection, events);
+        connection.release();
+        if (connection.isRetiring() && connection.acquire()) {
+            this.submit(connection);
+        } else if (!connection.isEmpty()) {
+            this.schedule(connection);
+        }
+    }
+
+    private void retire(SseConnection connection) {
+        if (connection.isClosed()) {
+            return;
+        }
+        List<SseEvent> events = new ArrayList<>(connection.poll(Integer.MAX_VALUE));
+        connection.acknowledge(events);
+        events.add(new SseEvent(-1, connection.getEventId(), null, this.sseEventEncoder.retry(connection.getLastSequence(), connection.getRetry()), System.currentTimeMillis()));
+        if (this.write(connection, this.frame(events), true)) {
+            this.written(connection, events);
+            this.close(connection, null);
+        }
+    }
+
+    private void written(SseConnection connection, List<SseEvent> events) {
+        long now = System.currentTimeMillis();
+        for (SseEvent event : events) {
+            this.sseMetrics.written(event, connection.getConnectedAt(), now);
+        }
+    }
+
+    private byte[] frame(List<SseEvent> events) {
+        if (events.size() == 1) {
+            return events.get(0).getFrame();
+        }
+        int length = 0;
+        for (SseEvent event : events) {
+            length += event.getFrame().length;
+        }
+        byte[] frame = new byte[length];
+        int offset = 0;
+        for (SseEvent event : events) {
+            System.arraycopy(event.getFrame(), 0, frame, offset, event.getFrame().length);
+            offset += event.getFrame().length;
+        }
+        return frame;
+    }
+
+    private boolean write(SseConnection connection, byte[] frame, boolean last) {
+        try {
+            connection.beginWrite(System.currentTimeMillis());
+            connection.getEmitter().send(connection.encode(frame, last), MediaType.TEXT_EVENT_STREAM);
+            connection.endWrite(System.currentTimeMillis());
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Closing connection {} after failed write", connection.getId(), e);
+            this.sseMetrics.sendFailed();
+            this.close(connection, e);
+            return false;
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class Stream {
+        private final String eventId;
+        private final Queue<Broadcast> broadcasts = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final SseLatencyHistogram latency = new SseLatencyHistogram();
+
+        private boolean isEmpty() {
+            return this.broadcasts.isEmpty();
+        }
+
+        private boolean isIdle() {
+            return !this.scheduled.get() && this.isEmpty();
+        }
+
+        private int weight(EventsProperties.Fanout fanout) {
+            return fanout.getWeights().getOrDefault(this.eventId, 1);
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class Broadcast {
+        private final Collection<SseConnection> connections;
+        private final SseEvent event;
+        private final long enqueuedAt = System.nanoTime();
+        private Iterator<SseConnection> cursor;
+    }
+}
@@ -0,0 +1,94 @@
+package cs.dev.log.events.handler;
+
+import cs.dev.log.events.config.EventsProperties;
+import cs.dev.log.events.metrics.SseMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+@Component
+public class SseHeartbeat {
+    private static final SseEvent HEARTBEAT = new SseEvent(-1, null, null, ":\n\n".getBytes(StandardCharsets.UTF_8), 0);
+    private final EventsProperties eventsProperties;
+    private final SseFanout sseFanout;
+    private final SseMetrics sseMetrics;
+    private final AtomicLong cursor = new AtomicLong();
+    private Set<SseConnection>[] wheel;
+    private ScheduledExecutorService ticker;
+    private long tick;
+
+    @PostConstruct
+    @SuppressWarnings("unchecked")
+    public void start() {
+        EventsProperties.Heartbeat heartbeat = this.eventsProperties.getHeartbeat();
+        this.wheel = new Set[heartbeat.getWheelSize()];
+        for (int i = 0; i < this.wheel.length; i++) {
+            this.wheel[i] = ConcurrentHashMap.newKeySet();
+        }
+        long tickMillis = Math.max(1, heartbeat.getInterval().toMillis() / this.wheel.length);
+        this.ticker = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("sse-heartbeat-"));
+        this.ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        this.ticker.shutdownNow();
+    }
+
+    public void register(SseConnection connection) {
+        this.wheel[(int) (this.cursor.getAndIncrement() % this.wheel.length)].add(connection);
+    }
+
+    private void tick() {
+        try {
+            Set<SseConnection> bucket = this.wheel[(int) (this.tick++ % this.wheel.length)];
+            EventsProperties.Heartbeat heartbeat = this.eventsProperties.getHeartbeat();
+            long now = System.currentTimeMillis();
+            long idleBefore = now - heartbeat.getInterval().toMillis();
+            long deadBefore = now - heartbeat.getDeadAfter().toMillis();
+            List<SseConnection> dead = new ArrayList<>();
+            bucket.removeIf(connection -> {
+                if (connection.isClosed()) {
+                    return true;
+                }
+                if (connection.isStalled(deadBefore)) {
+                    dead.add(connection);
+                    return true;
+                }
+                if (connection.getLastWrittenAt() < idleBefore) {
+                    this.sseFanout.heartbeat(connection, HEARTBEAT);
+                }
+                return false;
+            });
+            dead.forEach(connection -> {
+                this.sseMetrics.evicted();
+                this.sseFanout.close(connection, null);
+            });
+            if (!dead.isEmpty()) {
+                log.debug("Evicted {} stalled connections", dead.size());
+            }
+            if (this.tick % this.wheel.length == 0) {
+                this.sseFanout.sweep();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Heartbeat tick failed", e);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package cs.dev.log.events.handler;
+
+import cs.dev.log.events.dto.SseLatencyDto;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+public class SseLatencyHistogram {
+    private static final int BUCKETS = 64;
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long nanos) {
+        long micros = Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos));
+        this.buckets.incrementAndGet(Math.min(BUCKETS - 1, Long.SIZE - Long.numberOfLeadingZeros(micros)));
+        this.count.increment();
+        this.max.accumulateAndGet(micros, Math::max);
+    }
+
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    public long getMax() {
+        return this.max.get();
+    }
+
+    public SseLatencyDto snapshot() {
+        return new SseLatencyDto(this.getCount(), this.percentile(0.5), this.percentile(0.99), this.getMax());
+    }
+
+    public long percentile(double quantile) {
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = this.buckets.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long target = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= target) {
+                return i == 0 ? 0 : Math.min(1L << i, this.getMax());
+            }
+        }
+        return this.getMax();
+    }
+}
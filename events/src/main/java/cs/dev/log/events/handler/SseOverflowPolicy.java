@@ -0,0 +1,7 @@
+package cs.dev.log.events.handler;
+
+public enum SseOverflowPolicy {
+    DROP_OLDEST,
+    CONFLATE,
+    DISCONNECT
+}
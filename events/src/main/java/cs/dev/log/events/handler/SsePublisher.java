@@ -0,0 +1,39 @@
+package cs.dev.log.events.handler;
+
+import cs.dev.log.events.config.EventsProperties;
+import cs.dev.log.events.dto.SseEmitterDto;
+import cs.dev.log.events.redis.RedisPublisher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+@RequiredArgsConstructor
+@Component
+public class SsePublisher {
+    private final EventsProperties eventsProperties;
+    private final SseReplayStore sseReplayStore;
+    private final RedisPublisher redisPublisher;
+
+    public CompletableFuture<Long> publish(SseEmitterDto request, Consumer<SseEmitterDto> local) {
+        this.stamp(request, System.currentTimeMillis());
+        local.accept(request);
+        return this.redisPublisher.toMessage(request);
+    }
+
+    public List<CompletableFuture<Long>> publish(List<SseEmitterDto> requests, Consumer<SseEmitterDto> local) {
+        long now = System.currentTimeMillis();
+        requests.forEach(request -> this.stamp(request, now));
+        this.sseReplayStore.sequence(requests);
+        requests.forEach(local);
+        return this.redisPublisher.toMessages(requests);
+    }
+
+    private void stamp(SseEmitterDto request, long now) {
+        request.setSequence(null);
+        request.setOrigin(this.eventsProperties.getNodeId());
+        request.setPublishedAt(now);
+    }
+}
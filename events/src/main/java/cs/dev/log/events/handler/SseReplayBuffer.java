@@ -0,0 +1,120 @@
+package cs.dev.log.events.handler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongFunction;
+
+public class SseReplayBuffer {
+    private static final int INITIAL_CAPACITY = 8;
+    private final int depth;
+    private final long maxBytes;
+    private SseEvent[] ring;
+    private long first = 1;
+    private long sequence;
+    private long bytes;
+    private int size;
+    private long lastAppendedAt;
+
+    public SseReplayBuffer(int depth, long maxBytes) {
+        this.depth = depth;
+        this.maxBytes = maxBytes;
+        this.ring = new SseEvent[Math.min(depth, INITIAL_CAPACITY)];
+    }
+
+    public synchronized SseEvent append(LongFunction<SseEvent> factory) {
+        SseEvent event = factory.apply(this.sequence + 1);
+        long seq = event.getSequence();
+        if (this.sequence == 0) {
+            this.first = seq;
+        }
+        if (seq > this.sequence) {
+            this.sequence = seq;
+            this.fit();
+        }
+        int index = this.index(seq);
+        if (seq < this.first || this.ring[index] != null) {
+            return event;
+        }
+        this.ring[index] = event;
+        this.bytes += event.getFrame().length;
+        this.size++;
+        while (this.bytes > this.maxBytes && this.first < this.sequence) {
+            this.evictFirst();
+        }
+        this.lastAppendedAt = event.getCreatedAt();
+        return event;
+    }
+
+    public synchronized List<SseEvent> after(long lastSequence, long notBefore) {
+        long from = lastSequence > this.sequence ? this.first : Math.max(this.first, lastSequence + 1);
+        List<SseEvent> events = new ArrayList<>((int) Math.max(0, this.sequence - from + 1));
+        for (long seq = from; seq <= this.sequence; seq++) {
+            SseEvent event = this.ring[this.index(seq)];
+            if (event != null && event.getSequence() == seq && event.getCreatedAt() >= notBefore) {
+                events.add(event);
+            }
+        }
+        return events;
+    }
+
+    public synchronized boolean isExpired(long notBefore) {
+        return this.lastAppendedAt < notBefore;
+    }
+
+    public synchronized long getLastAppendedAt() {
+        return this.lastAppendedAt;
+    }
+
+    public synchronized long getBytes() {
+        return this.bytes;
+    }
+
+    public synchronized int getSize() {
+        return this.size;
+    }
+
+    private void fit() {
+        long floor = Math.max(this.first, this.sequence - this.depth + 1);
+        if (floor - this.first > this.ring.length) {
+            for (int i = 0; i < this.ring.length; i++) {
+                if (this.ring[i] != null && this.ring[i].getSequence() < floor) {
+                    this.bytes -= this.ring[i].getFrame().length;
+                    this.size--;
+                    this.ring[i] = null;
+                }
+            }
+            this.first = floor;
+        }
+        while (this.first < floor) {
+            this.evictFirst();
+        }
+        while (this.sequence - this.first + 1 > this.ring.length) {
+            this.grow();
+        }
+    }
+
+    private void evictFirst() {
+        int index = this.index(this.first);
+        SseEvent event = this.ring[index];
+        if (event != null && event.getSequence() == this.first) {
+            this.bytes -= event.getFrame().length;
+            this.size--;
+            this.ring[index] = null;
+        }
+        this.first++;
+    }
+
+    private void grow() {
+        SseEvent[] grown = new SseEvent[Math.min(this.depth, this.ring.length * 2)];
+        for (SseEvent event : this.ring) {
+            if (event != null) {
+                grown[(int) (event.getSequence() % grown.length)] = event;
+            }
+        }
+        this.ring = grown;
+    }
+
+    private int index(long seq) {
+        return (int) (seq % this.ring.length);
+    }
+}
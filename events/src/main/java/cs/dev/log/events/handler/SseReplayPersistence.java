@@ -0,0 +1,6 @@
+package cs.dev.log.events.handler;
+
+public enum SseReplayPersistence {
+    MEMORY,
+    STREAM
+}
@@ -0,0 +1,186 @@
+package cs.dev.log.events.handler;
+
+import cs.dev.log.events.config.EventsProperties;
+import cs.dev.log.events.dto.SseEmitterDto;
+import cs.dev.log.events.redis.RedisEventStream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@RequiredArgsConstructor
+@Component
+public class SseReplayStore {
+    private final EventsProperties eventsProperties;
+    private final SseEventEncoder sseEventEncoder;
+    private final RedisEventStream redisEventStream;
+    private final Map<String, SseReplayBuffer> buffers = new ConcurrentHashMap<>();
+    private final Map<String, Tail> tails = new ConcurrentHashMap<>();
+    private ScheduledExecutorService sweeper;
+
+    @PostConstruct
+    public void start() {
+        long interval = this.eventsProperties.getHeartbeat().getInterval().toMillis();
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("sse-replay-sweep-"));
+        this.sweeper.scheduleAtFixedRate(this::sweep, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        this.sweeper.shutdownNow();
+    }
+
+    public SseEvent append(SseEmitterDto request) {
+        long now = System.currentTimeMillis();
+        long createdAt = request.getPublishedAt() == null ? now : request.getPublishedAt();
+        String eventId = request.getId();
+        String name = request.getName();
+        byte[] body = this.sseEventEncoder.body(name, request.getData());
+        Long sequence = request.getSequence();
+        if (sequence == null && this.isPersistent()) {
+            sequence = this.redisEventStream.append(eventId, name, body, createdAt);
+            request.setSequence(sequence);
+        }
+        SseReplayBuffer buffer = this.buffers.get(eventId);
+        if (buffer == null) {
+            this.evict(now);
+            EventsProperties.Replay replay = this.eventsProperties.getReplay();
+            buffer = this.buffers.computeIfAbsent(eventId, key -> new SseReplayBuffer(replay.getDepth(), replay.getMaxBytes().toBytes()));
+        }
+        Long assigned = sequence;
+        return buffer.append(next -> {
+            long seq = assigned == null ? next : assigned;
+            return new SseEvent(seq, eventId, name, this.sseEventEncoder.frame(seq, body), createdAt);
+        });
+    }
+
+    public void sequence(List<SseEmitterDto> requests) {
+        if (this.isPersistent()) {
+            this.redisEventStream.sequence(requests);
+        }
+    }
+
+    public List<SseEvent> replay(String eventId, String lastEventId) {
+        if (lastEventId.isEmpty()) {
+            return Collections.emptyList();
+        }
+        long lastSequence;
+        try {
+            lastSequence = Long.parseLong(lastEventId);
+        } catch (NumberFormatException e) {
+            return Collections.emptyList();
+        }
+        long notBefore = this.notBefore(System.currentTimeMillis());
+        SseReplayBuffer buffer = this.buffers.get(eventId);
+        if (!this.isPersistent()) {
+            return buffer == null ? Collections.emptyList() : buffer.after(lastSequence, notBefore);
+        }
+        List<SseEvent> tail = this.tail(eventId);
+        List<SseEvent> events = new ArrayList<>();
+        if (tail.isEmpty() || tail.get(0).getSequence() <= lastSequence + 1) {
+            tail.stream()
+                    .filter(event -> event.getSequence() > lastSequence)
+                    .forEach(events::add);
+        } else {
+            long head = tail.get(0).getSequence();
+            long from = lastSequence;
+            while (from + 1 < head) {
+                List<SseEvent> range = this.redisEventStream.after(eventId, from);
+                if (range.isEmpty()) {
+                    break;
+                }
+                range.stream()
+                        .filter(event -> event.getSequence() < head)
+                        .forEach(events::add);
+                from = range.get(range.size() - 1).getSequence();
+            }
+            events.addAll(tail);
+        }
+        long latest = events.isEmpty() ? lastSequence : events.get(events.size() - 1).getSequence();
+        if (buffer != null) {
+            buffer.after(latest, notBefore).stream()
+                    .filter(event -> event.getSequence() > latest)
+                    .forEach(events::add);
+        }
+        events.removeIf(event -> event.getCreatedAt() < notBefore);
+        return events;
+    }
+
+    public long size() {
+        return this.buffers.values().stream().mapToLong(SseReplayBuffer::getSize).sum();
+    }
+
+    public long bytes() {
+        return this.buffers.values().stream().mapToLong(SseReplayBuffer::getBytes).sum();
+    }
+
+    public SseReplayBuffer get(String eventId) {
+        return this.buffers.get(eventId);
+    }
+
+    private List<SseEvent> tail(String eventId) {
+        long now = System.currentTimeMillis();
+        long ttl = this.eventsProperties.getReplay().getTailTtl().toMillis();
+        Tail tail = this.tails.compute(eventId, (key, current) ->
+                current != null && current.fetchedAt >= now - ttl ? current : new Tail(now));
+        if (tail.loading.compareAndSet(false, true)) {
+            try {
+                tail.events.complete(this.redisEventStream.tail(eventId));
+            } catch (RuntimeException e) {
+                this.tails.remove(eventId, tail);
+                tail.events.completeExceptionally(e);
+            }
+        }
+        return tail.events.join();
+    }
+
+    private void sweep() {
+        long now = System.currentTimeMillis();
+        long notBefore = this.notBefore(now);
+        this.buffers.values().removeIf(buffer -> buffer.isExpired(notBefore));
+        long tailNotBefore = now - this.eventsProperties.getReplay().getTailTtl().toMillis();
+        this.tails.values().removeIf(tail -> tail.fetchedAt < tailNotBefore);
+    }
+
+    private boolean isPersistent() {
+        return this.eventsProperties.getReplay().getPersistence() == SseReplayPersistence.STREAM;
+    }
+
+    private void evict(long now) {
+        int maxStreams = this.eventsProperties.getReplay().getMaxStreams();
+        if (this.buffers.size() < maxStreams) {
+            return;
+        }
+        long notBefore = this.notBefore(now);
+        this.buffers.values().removeIf(buffer -> buffer.isExpired(notBefore));
+        if (this.buffers.size() >= maxStreams) {
+            this.buffers.entrySet().stream()
+                    .min(Comparator.comparingLong(entry -> entry.getValue().getLastAppendedAt()))
+                    .ifPresent(entry -> this.buffers.remove(entry.getKey(), entry.getValue()));
+        }
+    }
+
+    private long notBefore(long now) {
+        return now - this.eventsProperties.getReplay().getMaxAge().toMillis();
+    }
+
+    @RequiredArgsConstructor
+    private static class Tail {
+        private final long fetchedAt;
+        private final AtomicBoolean loading = new AtomicBoolean();
+        private final CompletableFuture<List<SseEvent>> events = new CompletableFuture<>();
+    }
+}
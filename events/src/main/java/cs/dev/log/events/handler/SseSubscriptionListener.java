@@ -0,0 +1,5 @@
+package cs.dev.log.events.handler;
+
+public interface SseSubscriptionListener {
+    void onSubscriptionChanged(String eventId);
+}
@@ -0,0 +1,46 @@
+package cs.dev.log.events.metrics;
+
+import cs.dev.log.events.dto.SseEmitterDto;
+import cs.dev.log.events.handler.SseEvent;
+import cs.dev.log.events.handler.SseLatencyHistogram;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+@Getter
+@Component
+public class SseMetrics {
+    private final SseLatencyHistogram publishToWrite = new SseLatencyHistogram();
+    private final SseLatencyHistogram listenerLag = new SseLatencyHistogram();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder received = new LongAdder();
+    private final LongAdder sendFailures = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public void written(SseEvent event, long connectedAt, long now) {
+        if (event.getSequence() < 0) {
+            return;
+        }
+        this.written.increment();
+        if (event.getCreatedAt() >= connectedAt) {
+            this.publishToWrite.record(TimeUnit.MILLISECONDS.toNanos(now - event.getCreatedAt()));
+        }
+    }
+
+    public void received(SseEmitterDto message, long now) {
+        this.received.increment();
+        if (message.getPublishedAt() != null) {
+            this.listenerLag.record(TimeUnit.MILLISECONDS.toNanos(now - message.getPublishedAt()));
+        }
+    }
+
+    public void sendFailed() {
+        this.sendFailures.increment();
+    }
+
+    public void evicted() {
+        this.evictions.increment();
+    }
+}
@@ -0,0 +1,77 @@
+package cs.dev.log.events.metrics;
+
+import cs.dev.log.events.dto.SseMetricsDto;
+import cs.dev.log.events.dto.SseStreamMetricsDto;
+import cs.dev.log.events.handler.SseAdmission;
+import cs.dev.log.events.handler.SseConnection;
+import cs.dev.log.events.handler.SseEmitterRegistry;
+import cs.dev.log.events.handler.SseFanout;
+import cs.dev.log.events.handler.SseReplayBuffer;
+import cs.dev.log.events.handler.SseReplayStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RequiredArgsConstructor
+@Component
+@Endpoint(id = "sse")
+public class SseMetricsEndpoint {
+    private final SseMetrics sseMetrics;
+    private final SseAdmission sseAdmission;
+    private final SseReplayStore sseReplayStore;
+    private final ObjectProvider<SseEmitterRegistry> sseEmitterRegistry;
+    private final ObjectProvider<SseFanout> sseFanout;
+
+    @ReadOperation
+    public SseMetricsDto metrics() {
+        SseMetricsDto metrics = new SseMetricsDto();
+        metrics.setConnections(this.sseAdmission.size());
+        metrics.setConnectionsByEvent(this.sseAdmission.subscriptions());
+        metrics.setReplayEntries(this.sseReplayStore.size());
+        metrics.setReplayBytes(this.sseReplayStore.bytes());
+        metrics.setPublishToWrite(this.sseMetrics.getPublishToWrite().snapshot());
+        metrics.setListenerLag(this.sseMetrics.getListenerLag().snapshot());
+        metrics.setWritten(this.sseMetrics.getWritten().sum());
+        metrics.setReceived(this.sseMetrics.getReceived().sum());
+        metrics.setSendFailures(this.sseMetrics.getSendFailures().sum());
+        metrics.setEvictions(this.sseMetrics.getEvictions().sum());
+        SseEmitterRegistry registry = this.sseEmitterRegistry.getIfAvailable();
+        if (registry != null) {
+            for (SseConnection connection : registry.all()) {
+                int depth = connection.size();
+                metrics.setQueuedEvents(metrics.getQueuedEvents() + depth);
+                metrics.setMaxQueueDepth(Math.max(metrics.getMaxQueueDepth(), depth));
+            }
+        }
+        return metrics;
+    }
+
+    @ReadOperation
+    public SseStreamMetricsDto stream(@Selector String eventId) {
+        SseStreamMetricsDto metrics = new SseStreamMetricsDto();
+        metrics.setConnections(this.sseAdmission.subscriptions().getOrDefault(eventId, 0));
+        SseReplayBuffer buffer = this.sseReplayStore.get(eventId);
+        if (buffer != null) {
+            metrics.setReplayEntries(buffer.getSize());
+            metrics.setReplayBytes(buffer.getBytes());
+        }
+        SseFanout fanout = this.sseFanout.getIfAvailable();
+        if (fanout != null) {
+            metrics.setScheduling(fanout.latency().get(eventId));
+        }
+        SseEmitterRegistry registry = this.sseEmitterRegistry.getIfAvailable();
+        Map<String, Integer> queueDepths = new LinkedHashMap<>();
+        if (registry != null) {
+            registry.get(eventId).forEach(connection -> queueDepths.put(connection.getId(), connection.size()));
+        }
+        metrics.setQueueDepths(queueDepths.isEmpty() ? Collections.emptyMap() : queueDepths);
+        return metrics;
+    }
+}
@@ -0,0 +1,26 @@
+package cs.dev.log.events.redis;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.stereotype.Component;
+
+@RequiredArgsConstructor
+@Component
+public class RedisChannel {
+    private static final String DELIMITER = ":";
+    private static final String STREAM = "stream";
+    private static final String SEQUENCE = "sequence";
+    private final ChannelTopic channelTopic;
+
+    public ChannelTopic of(String eventId) {
+        return ChannelTopic.of(this.channelTopic.getTopic() + DELIMITER + eventId);
+    }
+
+    public String stream(String eventId) {
+        return this.of(eventId).getTopic() + DELIMITER + STREAM;
+    }
+
+    public String sequence(String eventId) {
+        return this.of(eventId).getTopic() + DELIMITER + SEQUENCE;
+    }
+}
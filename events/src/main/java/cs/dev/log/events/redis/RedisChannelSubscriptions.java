@@ -0,0 +1,81 @@
+package cs.dev.log.events.redis;
+
+import cs.dev.log.events.config.EventsProperties;
+import cs.dev.log.events.handler.SseEmitterRegistry;
+import cs.dev.log.events.handler.SseSubscriptionListener;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.listener.adapter.MessageListenerAdapter;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+@Component
+public class RedisChannelSubscriptions implements SseSubscriptionListener {
+    private final EventsProperties eventsProperties;
+    private final SseEmitterRegistry sseEmitterRegistry;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final MessageListenerAdapter messageListenerAdapter;
+    private final RedisChannel redisChannel;
+    private final Set<String> subscribed = new HashSet<>();
+    private final Map<String, Long> idleSince = new HashMap<>();
+    private ScheduledExecutorService executor;
+
+    @PostConstruct
+    public void start() {
+        this.executor = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("redis-subscriptions-"));
+        this.sseEmitterRegistry.addListener(this);
+    }
+
+    @PreDestroy
+    public void stop() {
+        this.executor.shutdownNow();
+    }
+
+    @Override
+    public void onSubscriptionChanged(String eventId) {
+        this.executor.execute(() -> this.reconcile(eventId));
+    }
+
+    public CompletableFuture<Void> subscribed(String eventId) {
+        return CompletableFuture.runAsync(() -> this.reconcile(eventId), this.executor);
+    }
+
+    private void reconcile(String eventId) {
+        if (this.sseEmitterRegistry.size(eventId) > 0) {
+            this.idleSince.remove(eventId);
+            if (this.subscribed.add(eventId)) {
+                this.redisMessageListenerContainer.addMessageListener(this.messageListenerAdapter, this.redisChannel.of(eventId));
+            }
+        } else if (this.subscribed.contains(eventId) && !this.idleSince.containsKey(eventId)) {
+            long now = System.currentTimeMillis();
+            this.idleSince.put(eventId, now);
+            long linger = this.eventsProperties.getReplay().getMaxAge().toMillis();
+            this.executor.schedule(() -> this.expire(eventId, now), linger, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void expire(String eventId, long since) {
+        Long idle = this.idleSince.get(eventId);
+        if (idle == null || idle != since || this.sseEmitterRegistry.size(eventId) > 0) {
+            return;
+        }
+        this.idleSince.remove(eventId);
+        if (this.subscribed.remove(eventId)) {
+            this.redisMessageListenerContainer.removeMessageListener(this.messageListenerAdapter, this.redisChannel.of(eventId));
+        }
+    }
+}
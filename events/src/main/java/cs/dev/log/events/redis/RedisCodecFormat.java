@@ -0,0 +1,7 @@
+package cs.dev.log.events.redis;
+
+public enum RedisCodecFormat {
+    JSON,
+    SMILE,
+    CBOR
+}
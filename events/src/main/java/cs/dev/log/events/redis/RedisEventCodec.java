@@ -0,0 +1,63 @@
+package cs.dev.log.events.redis;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import cs.dev.log.events.config.EventsProperties;
+import cs.dev.log.events.dto.SseEmitterDto;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+@Component
+public class RedisEventCodec implements RedisSerializer<SseEmitterDto> {
+    private final ObjectReader objectReader;
+    private final ObjectWriter objectWriter;
+
+    public RedisEventCodec(EventsProperties eventsProperties, ObjectMapper objectMapper) {
+        ObjectMapper mapper = this.mapper(eventsProperties.getCodec().getFormat(), objectMapper);
+        this.objectReader = mapper.readerFor(SseEmitterDto.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.objectWriter = mapper.writerFor(SseEmitterDto.class);
+    }
+
+    @Override
+    public byte[] serialize(SseEmitterDto message) throws SerializationException {
+        if (message == null) {
+            return null;
+        }
+        try {
+            return this.objectWriter.writeValueAsBytes(message);
+        } catch (IOException e) {
+            throw new SerializationException("Could not encode event " + message.getId(), e);
+        }
+    }
+
+    @Override
+    public SseEmitterDto deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        try {
+            return this.objectReader.readValue(bytes);
+        } catch (IOException e) {
+            throw new SerializationException("Could not decode event", e);
+        }
+    }
+
+    private ObjectMapper mapper(RedisCodecFormat format, ObjectMapper objectMapper) {
+        switch (format) {
+            case SMILE:
+                return new SmileMapper();
+            case CBOR:
+                return new CBORMapper();
+            default:
+                return objectMapper;
+        }
+    }
+}
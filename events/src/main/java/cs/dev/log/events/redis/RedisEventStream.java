@@ -0,0 +1,183 @@
+package cs.dev.log.events.redis;
+
+import cs.dev.log.events.config.EventsProperties;
+import cs.dev.log.events.dto.SseEmitterDto;
+import cs.dev.log.events.handler.SseEvent;
+import cs.dev.log.events.handler.SseEventEncoder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.RedisPipelineException;
+import org.springframework.data.redis.connection.RedisZSetCommands.Limit;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.connection.stream.ByteRecord;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+@Component
+public class RedisEventStream {
+    private static final String NAME = "name";
+    private static final String BODY = "body";
+    private static final String CREATED_AT = "createdAt";
+    private static final String NO_SCRIPT = "NOSCRIPT";
+    private static final RedisScript<Long> APPEND = new DefaultRedisScript<>(
+            "local sequence = redis.call('INCR', KEYS[1]) " +
+                    "redis.call('XADD', KEYS[2], 'MAXLEN', '~', ARGV[1], sequence .. '-0', 'name', ARGV[2], 'body', ARGV[3], 'createdAt', ARGV[4]) " +
+                    "redis.call('PEXPIRE', KEYS[1], ARGV[5]) " +
+                    "redis.call('PEXPIRE', KEYS[2], ARGV[5]) " +
+                    "return sequence",
+            Long.class);
+    private final EventsProperties eventsProperties;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisChannel redisChannel;
+    private final SseEventEncoder sseEventEncoder;
+
+    public long append(String eventId, String name, byte[] body, long createdAt) {
+        EventsProperties.Replay replay = this.eventsProperties.getReplay();
+        return this.redisTemplate.execute(APPEND, RedisSerializer.byteArray(), new GenericToStringSerializer<>(Long.class),
+                Arrays.asList(this.redisChannel.sequence(eventId), this.redisChannel.stream(eventId)),
+                this.bytes(String.valueOf(replay.getDepth())),
+                this.bytes(name == null ? "" : name),
+                body,
+                this.bytes(String.valueOf(createdAt)),
+                this.bytes(String.valueOf(replay.getMaxAge().toMillis())));
+    }
+
+    public void sequence(List<SseEmitterDto> messages) {
+        List<SseEmitterDto> unsequenced = new ArrayList<>();
+        messages.stream()
+                .filter(message -> message.getSequence() == null)
+                .forEach(unsequenced::add);
+        if (unsequenced.isEmpty()) {
+            return;
+        }
+        List<Long> sequences = this.append(unsequenced);
+        for (int i = 0; i < unsequenced.size(); i++) {
+            unsequenced.get(i).setSequence(sequences.get(i));
+        }
+    }
+
+    public List<Long> append(List<SseEmitterDto> messages) {
+        List<Object> results = new ArrayList<>(this.appendPipelined(messages));
+        List<Integer> missing = new ArrayList<>();
+        for (int i = 0; i < results.size(); i++) {
+            if (this.isNoScript(results.get(i))) {
+                missing.add(i);
+            }
+        }
+        if (!missing.isEmpty()) {
+            this.redisTemplate.execute((RedisCallback<String>) connection -> connection.scriptingCommands().scriptLoad(this.bytes(APPEND.getScriptAsString())));
+            List<SseEmitterDto> retry = new ArrayList<>(missing.size());
+            missing.forEach(index -> retry.add(messages.get(index)));
+            List<Object> retried = this.appendPipelined(retry);
+            for (int i = 0; i < missing.size(); i++) {
+                results.set(missing.get(i), retried.get(i));
+            }
+        }
+        List<Long> sequences = new ArrayList<>(results.size());
+        for (Object result : results) {
+            if (result instanceof RuntimeException) {
+                throw (RuntimeException) result;
+            }
+            if (!(result instanceof Long)) {
+                throw new IllegalStateException("Unexpected append result " + result);
+            }
+            sequences.add((Long) result);
+        }
+        return sequences;
+    }
+
+    public List<SseEvent> tail(String eventId) {
+        byte[] key = this.bytes(this.redisChannel.stream(eventId));
+        Limit limit = Limit.limit().count(this.eventsProperties.getReplay().getDepth());
+        List<ByteRecord> records = this.redisTemplate.execute((RedisCallback<List<ByteRecord>>) connection ->
+                connection.streamCommands().xRevRange(key, Range.unbounded(), limit));
+        List<SseEvent> events = this.toEvents(eventId, records);
+        Collections.reverse(events);
+        return events;
+    }
+
+    public List<SseEvent> after(String eventId, long lastSequence) {
+        byte[] key = this.bytes(this.redisChannel.stream(eventId));
+        Range<String> range = Range.of(Range.Bound.inclusive((lastSequence + 1) + "-0"), Range.Bound.unbounded());
+        Limit limit = Limit.limit().count(this.eventsProperties.getReplay().getDepth());
+        return this.toEvents(eventId, this.redisTemplate.execute((RedisCallback<List<ByteRecord>>) connection ->
+                connection.streamCommands().xRange(key, range, limit)));
+    }
+
+    private List<SseEvent> toEvents(String eventId, List<ByteRecord> records) {
+        if (records == null) {
+            return new ArrayList<>();
+        }
+        List<SseEvent> events = new ArrayList<>(records.size());
+        for (ByteRecord record : records) {
+            long sequence = Long.parseLong(record.getId().getValue().split("-")[0]);
+            String name = null;
+            byte[] body = new byte[0];
+            long createdAt = 0;
+            for (Map.Entry<byte[], byte[]> field : record.getValue().entrySet()) {
+                String fieldName = new String(field.getKey(), StandardCharsets.UTF_8);
+                if (NAME.equals(fieldName)) {
+                    name = field.getValue().length == 0 ? null : new String(field.getValue(), StandardCharsets.UTF_8);
+                } else if (BODY.equals(fieldName)) {
+                    body = field.getValue();
+                } else if (CREATED_AT.equals(fieldName)) {
+                    createdAt = Long.parseLong(new String(field.getValue(), StandardCharsets.UTF_8));
+                }
+            }
+            events.add(new SseEvent(sequence, eventId, name, this.sseEventEncoder.frame(sequence, body), createdAt));
+        }
+        return events;
+    }
+
+    private List<Object> appendPipelined(List<SseEmitterDto> messages) {
+        EventsProperties.Replay replay = this.eventsProperties.getReplay();
+        byte[] depth = this.bytes(String.valueOf(replay.getDepth()));
+        byte[] maxAge = this.bytes(String.valueOf(replay.getMaxAge().toMillis()));
+        byte[] createdAt = this.bytes(String.valueOf(System.currentTimeMillis()));
+        RedisCallback<Object> pipeline = connection -> {
+            for (SseEmitterDto message : messages) {
+                String name = message.getName();
+                connection.scriptingCommands().evalSha(APPEND.getSha1(), ReturnType.INTEGER, 2,
+                        this.bytes(this.redisChannel.sequence(message.getId())),
+                        this.bytes(this.redisChannel.stream(message.getId())),
+                        depth,
+                        this.bytes(name == null ? "" : name),
+                        this.sseEventEncoder.body(name, message.getData()),
+                        createdAt,
+                        maxAge);
+            }
+            return null;
+        };
+        try {
+            return this.redisTemplate.executePipelined(pipeline);
+        } catch (RedisPipelineException e) {
+            return e.getPipelineResult();
+        }
+    }
+
+    private boolean isNoScript(Object result) {
+        for (Throwable cause = result instanceof Throwable ? (Throwable) result : null; cause != null; cause = cause.getCause()) {
+            if (cause.getMessage() != null && cause.getMessage().contains(NO_SCRIPT)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -1,17 +1,146 @@
 package cs.dev.log.events.redis;
 
+import cs.dev.log.events.config.EventsProperties;
+import cs.dev.log.events.dto.SseEmitterDto;
+import cs.dev.log.events.handler.SseReplayPersistence;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
 @RequiredArgsConstructor
 @Service
 public class RedisPublisher {
+    private final EventsProperties eventsProperties;
     private final RedisTemplate<String, Object> redisTemplate;
-    private final ChannelTopic channelTopic;
+    private final RedisChannel redisChannel;
+    private final RedisEventStream redisEventStream;
+    private final RedisEventCodec redisEventCodec;
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private Thread flusher;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        this.running = true;
+        this.flusher = new Thread(this::run, "redis-publisher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        this.running = false;
+        this.flusher.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    public CompletableFuture<Long> toMessage(SseEmitterDto message) {
+        Pending pending = new Pending(message);
+        if (!this.running) {
+            pending.future.completeExceptionally(new IllegalStateException("Publisher is stopped"));
+            return pending.future;
+        }
+        this.inFlight.incrementAndGet();
+        this.queue.add(pending);
+        if (!this.running && this.queue.remove(pending)) {
+            this.inFlight.decrementAndGet();
+            pending.future.completeExceptionally(new IllegalStateException("Publisher is stopped"));
+        }
+        return pending.future;
+    }
+
+    public List<CompletableFuture<Long>> toMessages(Collection<SseEmitterDto> messages) {
+        List<CompletableFuture<Long>> futures = new ArrayList<>(messages.size());
+        messages.forEach(message -> futures.add(this.toMessage(message)));
+        return futures;
+    }
+
+    public boolean await(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (this.inFlight.get() > 0) {
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            Thread.sleep(Math.max(1, this.eventsProperties.getPublisher().getWindow().toMillis()));
+        }
+        return true;
+    }
+
+    private void run() {
+        EventsProperties.Publisher publisher = this.eventsProperties.getPublisher();
+        List<Pending> batch = new ArrayList<>(publisher.getBatchSize());
+        while (this.running || !this.queue.isEmpty()) {
+            try {
+                Pending first = this.queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + publisher.getWindow().toNanos();
+                while (batch.size() < publisher.getBatchSize()) {
+                    long remaining = deadline - System.nanoTime();
+                    Pending next = remaining > 0 ? this.queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        this.queue.drainTo(batch, publisher.getBatchSize() - batch.size());
+                        break;
+                    }
+                    batch.add(next);
+                }
+                this.flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Pending> batch) {
+        try {
+            if (this.eventsProperties.getReplay().getPersistence() == SseReplayPersistence.STREAM) {
+                List<SseEmitterDto> messages = new ArrayList<>(batch.size());
+                batch.forEach(pending -> messages.add(pending.message));
+                this.redisEventStream.sequence(messages);
+            }
+            RedisSerializer<String> channelSerializer = this.redisTemplate.getStringSerializer();
+            List<Object> results = this.redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (Pending pending : batch) {
+                    SseEmitterDto message = pending.message;
+                    connection.publish(channelSerializer.serialize(this.redisChannel.of(message.getId()).getTopic()), this.redisEventCodec.serialize(message));
+                }
+                return null;
+            });
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).future.complete((Long) results.get(i));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to publish {} messages", batch.size(), e);
+            batch.forEach(pending -> pending.future.completeExceptionally(e));
+        } finally {
+            this.inFlight.addAndGet(-batch.size());
+        }
+    }
 
-    public void toMessage(Object message) {
-        redisTemplate.convertAndSend(channelTopic.getTopic(), message);
+    @RequiredArgsConstructor
+    private static class Pending {
+        private final SseEmitterDto message;
+        private final CompletableFuture<Long> future = new CompletableFuture<>();
     }
 }
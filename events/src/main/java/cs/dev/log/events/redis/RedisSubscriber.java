@@ -1,31 +1,33 @@
 package cs.dev.log.events.redis;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import cs.dev.log.events.config.EventsProperties;
 import cs.dev.log.events.dto.SseEmitterDto;
 import cs.dev.log.events.handler.SseEmitterHandler;
+import cs.dev.log.events.metrics.SseMetrics;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.data.redis.connection.Message;
 import org.springframework.data.redis.connection.MessageListener;
 import org.springframework.stereotype.Service;
 
-import java.io.IOException;
-
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
 @Service
 public class RedisSubscriber implements MessageListener {
+    private final EventsProperties eventsProperties;
     private final SseEmitterHandler sseEmitterHandler;
+    private final RedisEventCodec redisEventCodec;
+    private final SseMetrics sseMetrics;
 
     @Override
     public void onMessage(Message message, byte[] pattern) {
-        SseEmitterDto sseEmitterDto = this.getBody(message.getBody(), SseEmitterDto.class);
-        sseEmitterHandler.send(sseEmitterDto);
-    }
-
-    public <T> T getBody(byte[] src, Class<T> valueType) {
-        try {
-            return new ObjectMapper().readValue(src, valueType);
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+        SseEmitterDto sseEmitterDto = this.redisEventCodec.deserialize(message.getBody());
+        if (sseEmitterDto == null) {
+            return;
+        }
+        this.sseMetrics.received(sseEmitterDto, System.currentTimeMillis());
+        if (!eventsProperties.getNodeId().equals(sseEmitterDto.getOrigin())) {
+            sseEmitterHandler.send(sseEmitterDto);
         }
     }
 }
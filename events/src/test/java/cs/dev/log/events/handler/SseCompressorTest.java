@@ -0,0 +1,110 @@
+package cs.dev.log.events.handler;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.DataFormatException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SseCompressorTest {
+    private static final int THRESHOLD = 256;
+
+    @Test
+    void gzipStreamRoundTripsMixedFrames() throws IOException {
+        SseCompressor compressor = this.compressor(SseEncoding.GZIP, new AtomicInteger());
+        List<byte[]> frames = this.frames();
+
+        byte[] encoded = this.encodeAll(compressor, frames);
+
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(encoded))) {
+            assertArrayEquals(this.concat(frames), in.readAllBytes());
+        }
+    }
+
+    @Test
+    void deflateStreamRoundTripsMixedFrames() throws IOException {
+        SseCompressor compressor = this.compressor(SseEncoding.DEFLATE, new AtomicInteger());
+        List<byte[]> frames = this.frames();
+
+        byte[] encoded = this.encodeAll(compressor, frames);
+
+        try (InputStream in = new InflaterInputStream(new ByteArrayInputStream(encoded))) {
+            assertArrayEquals(this.concat(frames), in.readAllBytes());
+        }
+    }
+
+    @Test
+    void compressesFramesAboveThreshold() {
+        SseCompressor compressor = this.compressor(SseEncoding.DEFLATE, new AtomicInteger());
+        List<byte[]> frames = this.frames();
+
+        byte[] encoded = this.encodeAll(compressor, frames);
+
+        assertTrue(encoded.length < this.concat(frames).length / 2);
+    }
+
+    @Test
+    void flushesEachFrameSoItDecodesWithoutTheRest() throws DataFormatException {
+        SseCompressor compressor = this.compressor(SseEncoding.DEFLATE, new AtomicInteger());
+        Inflater inflater = new Inflater();
+
+        for (byte[] frame : this.frames()) {
+            inflater.setInput(compressor.encode(frame, false));
+            byte[] decoded = new byte[frame.length];
+            assertEquals(frame.length, inflater.inflate(decoded));
+            assertArrayEquals(frame, decoded);
+        }
+        inflater.end();
+    }
+
+    @Test
+    void endsOnceOnLastFrame() {
+        AtomicInteger ended = new AtomicInteger();
+        SseCompressor compressor = this.compressor(SseEncoding.GZIP, ended);
+
+        this.encodeAll(compressor, this.frames());
+        compressor.end();
+
+        assertEquals(1, ended.get());
+        assertEquals(0, compressor.encode(this.frame(16), false).length);
+    }
+
+    private SseCompressor compressor(SseEncoding encoding, AtomicInteger ended) {
+        return new SseCompressor(encoding, 6, THRESHOLD, 64, ended::incrementAndGet);
+    }
+
+    private List<byte[]> frames() {
+        return List.of(this.frame(16), this.frame(4096), this.frame(32), this.frame(THRESHOLD), this.frame(THRESHOLD - 1), this.frame(2048));
+    }
+
+    private byte[] frame(int size) {
+        String data = "data: " + "payload-".repeat(size / 8 + 1);
+        return (data.substring(0, size - 2) + "\n\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private byte[] encodeAll(SseCompressor compressor, List<byte[]> frames) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int i = 0; i < frames.size(); i++) {
+            out.writeBytes(compressor.encode(frames.get(i), i == frames.size() - 1));
+        }
+        return out.toByteArray();
+    }
+
+    private byte[] concat(List<byte[]> frames) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        frames.forEach(out::writeBytes);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,137 @@
+package cs.dev.log.events.handler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SseConnectionTest {
+    private static final String EVENT_ID = "event-1";
+
+    @Test
+    void dropsOldestWhenFull() {
+        SseConnection connection = this.connection();
+        for (long sequence = 1; sequence <= 4; sequence++) {
+            assertTrue(connection.offer(this.event(sequence, "message"), 3, SseOverflowPolicy.DROP_OLDEST, false));
+        }
+
+        assertEquals(List.of(2L, 3L, 4L), this.sequences(connection.poll(16)));
+    }
+
+    @Test
+    void conflatesSameNameWhenFull() {
+        SseConnection connection = this.connection();
+        connection.offer(this.event(1, "price"), 3, SseOverflowPolicy.CONFLATE, false);
+        connection.offer(this.event(2, "trade"), 3, SseOverflowPolicy.CONFLATE, false);
+        connection.offer(this.event(3, "price"), 3, SseOverflowPolicy.CONFLATE, false);
+
+        assertTrue(connection.offer(this.event(4, "price"), 3, SseOverflowPolicy.CONFLATE, false));
+
+        assertEquals(List.of(2L, 4L), this.sequences(connection.poll(16)));
+    }
+
+    @Test
+    void conflateFallsBackToDroppingOldest() {
+        SseConnection connection = this.connection();
+        connection.offer(this.event(1, "price"), 2, SseOverflowPolicy.CONFLATE, false);
+        connection.offer(this.event(2, "trade"), 2, SseOverflowPolicy.CONFLATE, false);
+
+        assertTrue(connection.offer(this.event(3, "news"), 2, SseOverflowPolicy.CONFLATE, false));
+
+        assertEquals(List.of(2L, 3L), this.sequences(connection.poll(16)));
+    }
+
+    @Test
+    void disconnectRejectsWhenFull() {
+        SseConnection connection = this.connection();
+        connection.offer(this.event(1, "message"), 2, SseOverflowPolicy.DISCONNECT, false);
+        connection.offer(this.event(2, "message"), 2, SseOverflowPolicy.DISCONNECT, false);
+
+        assertFalse(connection.offer(this.event(3, "message"), 2, SseOverflowPolicy.DISCONNECT, false));
+
+        assertEquals(List.of(1L, 2L), this.sequences(connection.poll(16)));
+    }
+
+    @Test
+    void conflatedNamesKeepOnlyTheLatest() {
+        SseConnection connection = this.connection();
+        connection.offer(this.event(1, "price"), 16, SseOverflowPolicy.DROP_OLDEST, true);
+        connection.offer(this.event(2, "trade"), 16, SseOverflowPolicy.DROP_OLDEST, false);
+        connection.offer(this.event(3, "price"), 16, SseOverflowPolicy.DROP_OLDEST, true);
+
+        assertEquals(List.of(2L, 3L), this.sequences(connection.poll(16)));
+    }
+
+    @Test
+    void rejectsOffersOnceClosed() {
+        SseConnection connection = this.connection();
+        connection.offer(this.event(1, "message"), 16, SseOverflowPolicy.DROP_OLDEST, false);
+
+        assertTrue(connection.close());
+
+        assertFalse(connection.offer(this.event(2, "message"), 16, SseOverflowPolicy.DROP_OLDEST, false));
+        assertTrue(connection.isEmpty());
+        assertFalse(connection.acquire());
+    }
+
+    @Test
+    void mergesReplayAheadOfQueuedLiveEvents() {
+        SseConnection connection = this.connection();
+        connection.offer(this.event(5, "message"), 16, SseOverflowPolicy.DROP_OLDEST, false);
+        connection.offer(this.event(-1, "ping"), 16, SseOverflowPolicy.DROP_OLDEST, false);
+        connection.offer(this.event(6, "message"), 16, SseOverflowPolicy.DROP_OLDEST, false);
+
+        connection.offerAll(List.of(this.event(3, "message"), this.event(4, "message"), this.event(5, "message")));
+
+        assertEquals(List.of(3L, 4L, 5L, -1L, 6L), this.sequences(connection.poll(16)));
+    }
+
+    @Test
+    void skipsReplayedEventsAlreadyAcknowledged() {
+        SseConnection connection = this.connection();
+        connection.acknowledge(List.of(this.event(4, "message")));
+
+        connection.offerAll(List.of(this.event(3, "message"), this.event(4, "message"), this.event(5, "message")));
+
+        assertEquals(List.of(5L), this.sequences(connection.poll(16)));
+    }
+
+    @Test
+    void skipsLiveEventsAlreadyReplayed() {
+        SseConnection connection = this.connection();
+        connection.offerAll(List.of(this.event(1, "message"), this.event(2, "message"), this.event(3, "message")));
+
+        assertTrue(connection.offer(this.event(2, "message"), 16, SseOverflowPolicy.DROP_OLDEST, false));
+        assertTrue(connection.offer(this.event(3, "message"), 16, SseOverflowPolicy.DROP_OLDEST, false));
+        assertTrue(connection.offer(this.event(-1, "ping"), 16, SseOverflowPolicy.DROP_OLDEST, false));
+        assertTrue(connection.offer(this.event(4, "message"), 16, SseOverflowPolicy.DROP_OLDEST, false));
+
+        assertEquals(List.of(1L, 2L, 3L, -1L, 4L), this.sequences(connection.poll(16)));
+    }
+
+    @Test
+    void startsHeldUntilReleased() {
+        SseConnection connection = this.connection();
+
+        assertFalse(connection.acquire());
+        connection.release();
+        assertTrue(connection.acquire());
+        assertFalse(connection.acquire());
+    }
+
+    private SseConnection connection() {
+        return new SseConnection("connection-1", EVENT_ID, null, null);
+    }
+
+    private SseEvent event(long sequence, String name) {
+        return new SseEvent(sequence, EVENT_ID, name, new byte[0], 0);
+    }
+
+    private List<Long> sequences(List<SseEvent> events) {
+        return events.stream().map(SseEvent::getSequence).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,116 @@
+package cs.dev.log.events.handler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SseReplayBufferTest {
+    private static final String EVENT_ID = "event-1";
+
+    @Test
+    void replaysEventsAfterLastSequence() {
+        SseReplayBuffer buffer = new SseReplayBuffer(16, Long.MAX_VALUE);
+        this.appendNext(buffer, 5);
+
+        assertEquals(List.of(3L, 4L, 5L), this.sequences(buffer.after(2, 0)));
+    }
+
+    @Test
+    void replaysNothingWhenReconnectingAtHead() {
+        SseReplayBuffer buffer = new SseReplayBuffer(16, Long.MAX_VALUE);
+        this.appendNext(buffer, 5);
+
+        assertTrue(buffer.after(5, 0).isEmpty());
+    }
+
+    @Test
+    void replaysWholeBufferAfterEpochReset() {
+        SseReplayBuffer buffer = new SseReplayBuffer(16, Long.MAX_VALUE);
+        this.appendNext(buffer, 3);
+
+        assertEquals(List.of(1L, 2L, 3L), this.sequences(buffer.after(42, 0)));
+    }
+
+    @Test
+    void keepsOnlyTheLastDepthEvents() {
+        SseReplayBuffer buffer = new SseReplayBuffer(4, Long.MAX_VALUE);
+        this.appendNext(buffer, 10);
+
+        assertEquals(List.of(7L, 8L, 9L, 10L), this.sequences(buffer.after(0, 0)));
+        assertEquals(4, buffer.getSize());
+    }
+
+    @Test
+    void skipsGapsInAssignedSequences() {
+        SseReplayBuffer buffer = new SseReplayBuffer(16, Long.MAX_VALUE);
+        this.append(buffer, 5, 10, 0);
+        this.append(buffer, 6, 10, 0);
+        this.append(buffer, 9, 10, 0);
+
+        assertEquals(List.of(5L, 6L, 9L), this.sequences(buffer.after(0, 0)));
+        assertEquals(List.of(6L, 9L), this.sequences(buffer.after(5, 0)));
+        assertEquals(List.of(9L), this.sequences(buffer.after(7, 0)));
+        assertEquals(3, buffer.getSize());
+    }
+
+    @Test
+    void ordersLateArrivalsBySequence() {
+        SseReplayBuffer buffer = new SseReplayBuffer(16, Long.MAX_VALUE);
+        this.append(buffer, 1, 10, 0);
+        this.append(buffer, 3, 10, 0);
+        this.append(buffer, 2, 10, 0);
+        this.append(buffer, 2, 10, 0);
+
+        assertEquals(List.of(1L, 2L, 3L), this.sequences(buffer.after(0, 0)));
+        assertEquals(3, buffer.getSize());
+        assertEquals(30, buffer.getBytes());
+    }
+
+    @Test
+    void evictsOldestEventsOverByteBudget() {
+        SseReplayBuffer buffer = new SseReplayBuffer(16, 25);
+        this.append(buffer, 1, 10, 0);
+        this.append(buffer, 2, 10, 0);
+        this.append(buffer, 3, 10, 0);
+
+        assertEquals(List.of(2L, 3L), this.sequences(buffer.after(0, 0)));
+        assertEquals(20, buffer.getBytes());
+        assertEquals(2, buffer.getSize());
+    }
+
+    @Test
+    void keepsNewestEventEvenIfOverByteBudget() {
+        SseReplayBuffer buffer = new SseReplayBuffer(16, 5);
+        this.append(buffer, 1, 10, 0);
+
+        assertEquals(List.of(1L), this.sequences(buffer.after(0, 0)));
+    }
+
+    @Test
+    void skipsEventsCreatedBeforeNotBefore() {
+        SseReplayBuffer buffer = new SseReplayBuffer(16, Long.MAX_VALUE);
+        this.append(buffer, 1, 10, 100);
+        this.append(buffer, 2, 10, 200);
+
+        assertEquals(List.of(2L), this.sequences(buffer.after(0, 150)));
+        assertTrue(buffer.isExpired(201));
+    }
+
+    private void appendNext(SseReplayBuffer buffer, int count) {
+        for (int i = 0; i < count; i++) {
+            buffer.append(sequence -> new SseEvent(sequence, EVENT_ID, null, new byte[10], 0));
+        }
+    }
+
+    private void append(SseReplayBuffer buffer, long sequence, int length, long createdAt) {
+        buffer.append(next -> new SseEvent(sequence, EVENT_ID, null, new byte[length], createdAt));
+    }
+
+    private List<Long> sequences(List<SseEvent> events) {
+        return events.stream().map(SseEvent::getSequence).collect(Collectors.toList());
+    }
+}
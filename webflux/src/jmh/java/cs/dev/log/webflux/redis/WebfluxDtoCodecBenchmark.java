@@ -0,0 +1,70 @@
+package cs.dev.log.webflux.redis;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import cs.dev.log.webflux.config.WebfluxProperties;
+import cs.dev.log.webflux.dto.WebfluxDto;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class WebfluxDtoCodecBenchmark {
+    @Param({"LEGACY", "JSON", "SMILE", "BINARY"})
+    public String format;
+
+    private SerializationPair<Object> serializationPair;
+    private WebfluxDto webfluxDto;
+    private ByteBuffer encoded;
+
+    @SuppressWarnings("unchecked")
+    @Setup(Level.Trial)
+    public void setUp() {
+        if ("LEGACY".equals(this.format)) {
+            this.serializationPair = SerializationPair.fromSerializer(new Jackson2JsonRedisSerializer<>(Object.class));
+        } else {
+            WebfluxProperties webfluxProperties = new WebfluxProperties();
+            webfluxProperties.getCodec().setFormat(WebfluxCodecFormat.valueOf(this.format));
+            WebfluxDtoCodec webfluxDtoCodec = new WebfluxDtoCodec(webfluxProperties, new ObjectMapper());
+            this.serializationPair = (SerializationPair<Object>) (SerializationPair<?>) SerializationPair.just(webfluxDtoCodec, webfluxDtoCodec);
+        }
+        this.webfluxDto = new WebfluxDto("user-00000001", "홍길동");
+        this.encoded = this.serializationPair.write(this.webfluxDto);
+    }
+
+    @Benchmark
+    public ByteBuffer encode(Stored stored) {
+        ByteBuffer buffer = this.serializationPair.write(this.webfluxDto);
+        stored.bytes = buffer.remaining();
+        return buffer;
+    }
+
+    @Benchmark
+    public Object decode() {
+        return this.serializationPair.read(this.encoded.duplicate());
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Stored {
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            this.bytes = 0;
+        }
+    }
+}
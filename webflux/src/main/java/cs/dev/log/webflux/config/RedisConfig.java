@@ -1,5 +1,6 @@
 package cs.dev.log.webflux.config;
 
+import cs.dev.log.webflux.redis.WebfluxDtoCodec;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
@@ -23,14 +24,14 @@ public class RedisConfig {
 
     @Primary
     @Bean
-    public ReactiveRedisOperations<String, Object> reactiveRedisOperations(ReactiveRedisConnectionFactory reactiveRedisConnectionFactory) {
+    public ReactiveRedisOperations<String, Object> reactiveRedisOperations(ReactiveRedisConnectionFactory reactiveRedisConnectionFactory, WebfluxDtoCodec webfluxDtoCodec) {
         StringRedisSerializer stringRedisSerializer = new StringRedisSerializer();
         Jackson2JsonRedisSerializer<Object> jackson2JsonRedisSerializer = new Jackson2JsonRedisSerializer<>(Object.class);
         return new ReactiveRedisTemplate<>(reactiveRedisConnectionFactory, RedisSerializationContext
                 .<String, Object>newSerializationContext(stringRedisSerializer)
                 .value(jackson2JsonRedisSerializer)
                 .hashKey(stringRedisSerializer)
-                .hashValue(jackson2JsonRedisSerializer)
+                .hashValue(RedisSerializationContext.SerializationPair.just(webfluxDtoCodec, webfluxDtoCodec))
                 .build()
         );
     }
@@ -0,0 +1,54 @@
+package cs.dev.log.webflux.config;
+
+import cs.dev.log.webflux.redis.WebfluxCodecFormat;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "webflux")
+public class WebfluxProperties {
+    private Scan scan = new Scan();
+    private Cache cache = new Cache();
+    private WriteBehind writeBehind = new WriteBehind();
+    private Codec codec = new Codec();
+
+    @Setter
+    @Getter
+    public static class Scan {
+        private int count = 100;
+        private int maxCount = 1000;
+    }
+
+    @Setter
+    @Getter
+    public static class Cache {
+        private boolean enabled = true;
+        private DataSize maximumWeight = DataSize.ofMegabytes(64);
+        private Duration expireAfterWrite = Duration.ofMinutes(5);
+        private String channel = "webflux:invalidate";
+    }
+
+    @Setter
+    @Getter
+    public static class WriteBehind {
+        private boolean enabled = false;
+        private Duration window = Duration.ofMillis(5);
+        private int maxBatch = 512;
+        private int maxPending = 10000;
+        private Duration timeout = Duration.ofSeconds(2);
+        private Duration shutdownTimeout = Duration.ofSeconds(10);
+    }
+
+    @Setter
+    @Getter
+    public static class Codec {
+        private WebfluxCodecFormat format = WebfluxCodecFormat.BINARY;
+    }
+}
@@ -0,0 +1,16 @@
+package cs.dev.log.webflux.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Setter
+@Getter
+public class WebfluxEntryDto {
+    private String field;
+    private Object value;
+    private String cursor;
+}
@@ -1,29 +1,134 @@
 package cs.dev.log.webflux.handler;
 
+import cs.dev.log.webflux.config.WebfluxProperties;
 import cs.dev.log.webflux.dto.WebfluxDto;
-import org.springframework.data.redis.core.ReactiveHashOperations;
+import cs.dev.log.webflux.dto.WebfluxEntryDto;
 import org.springframework.data.redis.core.ReactiveRedisOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisElementReader;
+import org.springframework.data.redis.serializer.RedisElementWriter;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 @Component
 public class WebfluxHandler {
-    private final ReactiveHashOperations<String, String, Object> reactiveHashOperations;
+    private static final RedisScript<List> SAVE = RedisScript.of("redis.call('HSET', KEYS[1], ARGV[1], ARGV[2]) if ARGV[3] ~= '' then redis.call('PUBLISH', ARGV[3], ARGV[4]) end return redis.call('HVALS', KEYS[1])", List.class);
+    private static final RedisScript<List> SCAN = RedisScript.of("return redis.call('HSCAN', KEYS[1], ARGV[1], 'COUNT', ARGV[2])", List.class);
+    private static final RedisElementWriter<ByteBuffer> RAW = ByteBuffer::duplicate;
+    private static final RedisElementReader<ByteBuffer> RAW_READER = ByteBuffer::duplicate;
+    private static final String START = "0";
+    private final ReactiveRedisOperations<String, Object> reactiveRedisOperations;
+    private final WebfluxProperties webfluxProperties;
+    private final WebfluxNearCache webfluxNearCache;
+    private final WebfluxWriteBehind webfluxWriteBehind;
 
-    public WebfluxHandler(ReactiveRedisOperations<String, Object> reactiveRedisOperations) {
-        this.reactiveHashOperations = reactiveRedisOperations.opsForHash();
+    public WebfluxHandler(ReactiveRedisOperations<String, Object> reactiveRedisOperations, WebfluxProperties webfluxProperties, WebfluxNearCache webfluxNearCache, WebfluxWriteBehind webfluxWriteBehind) {
+        this.reactiveRedisOperations = reactiveRedisOperations;
+        this.webfluxProperties = webfluxProperties;
+        this.webfluxNearCache = webfluxNearCache;
+        this.webfluxWriteBehind = webfluxWriteBehind;
     }
 
     public Mono<ServerResponse> save(ServerRequest request) {
         return request.bodyToMono(WebfluxDto.class)
-                .flatMap(dto -> {
-                    reactiveHashOperations.put(dto.getId(), dto.getName(), dto).subscribe();
-                    return ServerResponse.ok()
-                            .contentType(MediaType.APPLICATION_JSON)
-                            .body(reactiveHashOperations.values(dto.getId()), Object.class);
-                });
+                .flatMap(dto -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(this.putAndGetValues(dto), Object.class));
+    }
+
+    public Mono<ServerResponse> get(ServerRequest request) {
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(this.webfluxNearCache.values(request.pathVariable("id")), Object.class);
+    }
+
+    public Mono<ServerResponse> scan(ServerRequest request) {
+        String id = request.pathVariable("id");
+        String cursor = request.queryParam("cursor").orElse(START);
+        WebfluxProperties.Scan scan = this.webfluxProperties.getScan();
+        int count;
+        try {
+            count = request.queryParam("count").map(Integer::parseInt).orElse(scan.getCount());
+        } catch (NumberFormatException e) {
+            return ServerResponse.badRequest().build();
+        }
+        int pageSize = Math.max(1, Math.min(count, scan.getMaxCount()));
+        Flux<WebfluxEntryDto> entries = this.page(id, cursor, pageSize)
+                .expand(page -> page.isLast() ? Mono.empty() : this.page(id, page.next, pageSize))
+                .concatMapIterable(page -> page.entries, 1);
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(entries, WebfluxEntryDto.class);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Mono<Page> page(String id, String cursor, int count) {
+        List<ByteBuffer> args = List.of(this.bytes(cursor), this.bytes(String.valueOf(count)));
+        return this.reactiveRedisOperations.execute(SCAN, Collections.singletonList(id), args, RAW, (RedisElementReader) RAW_READER)
+                .collectList()
+                .map(result -> this.toPage(cursor, (ByteBuffer) result.get(0), (List<ByteBuffer>) result.get(1)));
+    }
+
+    private Page toPage(String cursor, ByteBuffer next, List<ByteBuffer> fields) {
+        RedisSerializationContext<String, Object> context = this.reactiveRedisOperations.getSerializationContext();
+        List<WebfluxEntryDto> entries = new ArrayList<>(fields.size() / 2);
+        for (int i = 0; i + 1 < fields.size(); i += 2) {
+            Object field = context.getHashKeySerializationPair().read(fields.get(i));
+            Object value = context.getHashValueSerializationPair().read(fields.get(i + 1));
+            entries.add(new WebfluxEntryDto(String.valueOf(field), value, cursor));
+        }
+        return new Page(StandardCharsets.UTF_8.decode(next).toString(), entries);
+    }
+
+    private ByteBuffer bytes(String value) {
+        return ByteBuffer.wrap(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Flux<Object> putAndGetValues(WebfluxDto dto) {
+        if (this.webfluxWriteBehind.isEnabled()) {
+            return this.webfluxWriteBehind.put(dto.getId(), dto.getName(), dto)
+                    .thenMany(Flux.defer(() -> this.webfluxNearCache.values(dto.getId())));
+        }
+        return this.putAndGetValuesAtomically(dto);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Flux<Object> putAndGetValuesAtomically(WebfluxDto dto) {
+        RedisSerializationContext<String, Object> context = this.reactiveRedisOperations.getSerializationContext();
+        WebfluxProperties.Cache cache = this.webfluxProperties.getCache();
+        List<ByteBuffer> args = List.of(
+                context.getHashKeySerializationPair().write(dto.getName()),
+                context.getHashValueSerializationPair().write(dto),
+                this.bytes(cache.isEnabled() ? cache.getChannel() : ""),
+                context.getValueSerializationPair().write(dto.getId()));
+        RedisElementReader reader = context.getHashValueSerializationPair().getReader();
+        return this.reactiveRedisOperations.execute(SAVE, Collections.singletonList(dto.getId()), args, RAW, reader)
+                .cast(Object.class)
+                .doOnComplete(() -> this.webfluxNearCache.evict(dto.getId()));
+    }
+
+    private static class Page {
+        private final String next;
+        private final List<WebfluxEntryDto> entries;
+
+        private Page(String next, List<WebfluxEntryDto> entries) {
+            this.next = next;
+            this.entries = entries;
+        }
+
+        private boolean isLast() {
+            return START.equals(this.next);
+        }
     }
 }
@@ -0,0 +1,110 @@
+package cs.dev.log.webflux.handler;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import cs.dev.log.webflux.config.WebfluxProperties;
+import org.springframework.data.redis.core.ReactiveRedisOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisElementReader;
+import org.springframework.data.redis.serializer.RedisElementWriter;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+@Component
+public class WebfluxNearCache {
+    private static final RedisScript<List> VALUES = RedisScript.of("return redis.call('HVALS', KEYS[1])", List.class);
+    private static final RedisElementWriter<ByteBuffer> RAW = ByteBuffer::duplicate;
+    private static final RedisElementReader<ByteBuffer> RAW_READER = ByteBuffer::duplicate;
+    private static final Duration RESUBSCRIBE = Duration.ofSeconds(1);
+    private final ReactiveRedisOperations<String, Object> reactiveRedisOperations;
+    private final WebfluxProperties webfluxProperties;
+    private final AsyncCache<String, Entry> cache;
+    private Disposable invalidations;
+
+    public WebfluxNearCache(ReactiveRedisOperations<String, Object> reactiveRedisOperations, WebfluxProperties webfluxProperties) {
+        this.reactiveRedisOperations = reactiveRedisOperations;
+        this.webfluxProperties = webfluxProperties;
+        WebfluxProperties.Cache cache = webfluxProperties.getCache();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(cache.getMaximumWeight().toBytes())
+                .weigher((String id, Entry entry) -> entry.weight)
+                .expireAfterWrite(cache.getExpireAfterWrite())
+                .buildAsync();
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        if (!this.webfluxProperties.getCache().isEnabled()) {
+            return;
+        }
+        this.invalidations = this.reactiveRedisOperations.listenToChannel(this.webfluxProperties.getCache().getChannel())
+                .doOnSubscribe(subscription -> this.cache.synchronous().invalidateAll())
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, RESUBSCRIBE).maxBackoff(RESUBSCRIBE.multipliedBy(30)))
+                .subscribe(message -> this.cache.synchronous().invalidate(String.valueOf(message.getMessage())));
+    }
+
+    @PreDestroy
+    public void unsubscribe() {
+        if (this.invalidations != null) {
+            this.invalidations.dispose();
+        }
+    }
+
+    public Flux<Object> values(String id) {
+        if (!this.webfluxProperties.getCache().isEnabled()) {
+            return this.load(id).flatMapIterable(entry -> entry.values);
+        }
+        return Mono.fromFuture(() -> this.cache.get(id, (key, executor) -> this.load(key).toFuture()))
+                .flatMapIterable(entry -> entry.values);
+    }
+
+    public Mono<Void> invalidate(String id) {
+        if (!this.webfluxProperties.getCache().isEnabled()) {
+            return Mono.empty();
+        }
+        this.evict(id);
+        return this.reactiveRedisOperations.convertAndSend(this.webfluxProperties.getCache().getChannel(), id).then();
+    }
+
+    public void evict(String id) {
+        this.cache.synchronous().invalidate(id);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Mono<Entry> load(String id) {
+        RedisElementReader<Object> reader = this.reactiveRedisOperations.getSerializationContext().getHashValueSerializationPair().getReader();
+        return this.reactiveRedisOperations.execute(VALUES, Collections.singletonList(id), Collections.emptyList(), RAW, (RedisElementReader) RAW_READER)
+                .cast(ByteBuffer.class)
+                .collectList()
+                .map(buffers -> {
+                    long weight = id.length();
+                    List<Object> values = new ArrayList<>(buffers.size());
+                    for (ByteBuffer buffer : buffers) {
+                        weight += buffer.remaining();
+                        values.add(reader.read(buffer));
+                    }
+                    return new Entry(values, (int) Math.min(weight, Integer.MAX_VALUE));
+                });
+    }
+
+    private static class Entry {
+        private final List<Object> values;
+        private final int weight;
+
+        private Entry(List<Object> values, int weight) {
+            this.values = values;
+            this.weight = weight;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package cs.dev.log.webflux.handler;
+
+import cs.dev.log.webflux.config.WebfluxProperties;
+import org.springframework.data.redis.core.ReactiveRedisOperations;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+public class WebfluxWriteBehind {
+    private final ReactiveRedisOperations<String, Object> reactiveRedisOperations;
+    private final WebfluxProperties webfluxProperties;
+    private final WebfluxNearCache webfluxNearCache;
+    private final Queue<Put> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final Scheduler scheduler = Schedulers.newSingle("webflux-write-behind");
+    private volatile boolean closed;
+
+    public WebfluxWriteBehind(ReactiveRedisOperations<String, Object> reactiveRedisOperations, WebfluxProperties webfluxProperties, WebfluxNearCache webfluxNearCache) {
+        this.reactiveRedisOperations = reactiveRedisOperations;
+        this.webfluxProperties = webfluxProperties;
+        this.webfluxNearCache = webfluxNearCache;
+    }
+
+    public boolean isEnabled() {
+        return this.webfluxProperties.getWriteBehind().isEnabled();
+    }
+
+    public Mono<Void> put(String id, String field, Object value) {
+        if (this.closed) {
+            return Mono.error(new IllegalStateException("Write-behind is shut down"));
+        }
+        if (this.inFlight.incrementAndGet() > this.webfluxProperties.getWriteBehind().getMaxPending()) {
+            this.inFlight.decrementAndGet();
+            return Mono.error(new IllegalStateException("Write-behind queue is full"));
+        }
+        Sinks.One<Void> sink = Sinks.one();
+        Put put = new Put(id, field, value, sink);
+        this.pending.add(put);
+        if (this.closed && this.pending.remove(put)) {
+            this.inFlight.decrementAndGet();
+            return Mono.error(new IllegalStateException("Write-behind is shut down"));
+        }
+        if (this.queued.incrementAndGet() == this.webfluxProperties.getWriteBehind().getMaxBatch()) {
+            this.scheduler.schedule(this::flush);
+        } else if (this.scheduled.compareAndSet(false, true)) {
+            this.scheduler.schedule(this::flush, this.webfluxProperties.getWriteBehind().getWindow().toMillis(), TimeUnit.MILLISECONDS);
+        }
+        return sink.asMono();
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        this.closed = true;
+        this.scheduler.schedule(this::flush);
+        this.await(this.webfluxProperties.getWriteBehind().getShutdownTimeout());
+        this.scheduler.dispose();
+        IllegalStateException e = new IllegalStateException("Write-behind shut down before the write was flushed");
+        this.drain().values().forEach(batch -> {
+            batch.sinks.forEach(sink -> sink.tryEmitError(e));
+            this.inFlight.addAndGet(-batch.sinks.size());
+        });
+    }
+
+    public boolean await(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (this.inFlight.get() > 0) {
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            Thread.sleep(Math.max(1, this.webfluxProperties.getWriteBehind().getWindow().toMillis()));
+        }
+        return true;
+    }
+
+    private void flush() {
+        this.scheduled.set(false);
+        this.write(this.drain()).subscribe();
+        if (!this.pending.isEmpty() && this.scheduled.compareAndSet(false, true)) {
+            this.scheduler.schedule(this::flush, this.webfluxProperties.getWriteBehind().getWindow().toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private Map<String, Batch> drain() {
+        Map<String, Batch> batches = new LinkedHashMap<>();
+        Put put;
+        while ((put = this.pending.poll()) != null) {
+            this.queued.decrementAndGet();
+            Batch batch = batches.computeIfAbsent(put.id, id -> new Batch());
+            batch.fields.put(put.field, put.value);
+            batch.sinks.add(put.sink);
+        }
+        return batches;
+    }
+
+    private Mono<Void> write(Map<String, Batch> batches) {
+        return Flux.fromIterable(batches.entrySet())
+                .flatMap(entry -> this.write(entry.getKey(), entry.getValue()), Math.max(1, batches.size()))
+                .then();
+    }
+
+    private Mono<Void> write(String id, Batch batch) {
+        return this.reactiveRedisOperations.opsForHash().putAll(id, batch.fields)
+                .then(this.webfluxNearCache.invalidate(id))
+                .timeout(this.webfluxProperties.getWriteBehind().getTimeout())
+                .doOnSuccess(ignored -> batch.sinks.forEach(Sinks.One::tryEmitEmpty))
+                .onErrorResume(e -> {
+                    batch.sinks.forEach(sink -> sink.tryEmitError(e));
+                    return Mono.empty();
+                })
+                .doFinally(signal -> this.inFlight.addAndGet(-batch.sinks.size()));
+    }
+
+    private static class Put {
+        private final String id;
+        private final String field;
+        private final Object value;
+        private final Sinks.One<Void> sink;
+
+        private Put(String id, String field, Object value, Sinks.One<Void> sink) {
+            this.id = id;
+            this.field = field;
+            this.value = value;
+            this.sink = sink;
+        }
+    }
+
+    private static class Batch {
+        private final Map<Object, Object> fields = new LinkedHashMap<>();
+        private final List<Sinks.One<Void>> sinks = new ArrayList<>();
+    }
+}
@@ -0,0 +1,7 @@
+package cs.dev.log.webflux.redis;
+
+public enum WebfluxCodecFormat {
+    JSON,
+    SMILE,
+    BINARY
+}
@@ -0,0 +1,147 @@
+package cs.dev.log.webflux.redis;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import cs.dev.log.webflux.config.WebfluxProperties;
+import cs.dev.log.webflux.dto.WebfluxDto;
+import org.springframework.data.redis.serializer.RedisElementReader;
+import org.springframework.data.redis.serializer.RedisElementWriter;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+@Component
+public class WebfluxDtoCodec implements RedisElementReader<WebfluxDto>, RedisElementWriter<WebfluxDto> {
+    private static final byte VERSION = 1;
+    private static final byte SMILE_HEADER = ':';
+    private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+    private final WebfluxCodecFormat format;
+    private final ObjectReader jsonReader;
+    private final ObjectReader smileReader;
+    private final ObjectWriter objectWriter;
+
+    public WebfluxDtoCodec(WebfluxProperties webfluxProperties, ObjectMapper objectMapper) {
+        SmileMapper smileMapper = new SmileMapper();
+        this.format = webfluxProperties.getCodec().getFormat();
+        this.jsonReader = objectMapper.readerFor(WebfluxDto.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.smileReader = smileMapper.readerFor(WebfluxDto.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.objectWriter = (this.format == WebfluxCodecFormat.SMILE ? smileMapper : objectMapper).writerFor(WebfluxDto.class);
+    }
+
+    @Override
+    public ByteBuffer write(WebfluxDto dto) {
+        if (dto == null) {
+            return EMPTY.duplicate();
+        }
+        if (this.format == WebfluxCodecFormat.BINARY) {
+            return this.encode(dto);
+        }
+        try {
+            return ByteBuffer.wrap(this.objectWriter.writeValueAsBytes(dto));
+        } catch (IOException e) {
+            throw new SerializationException("Could not encode " + dto.getId(), e);
+        }
+    }
+
+    @Override
+    public WebfluxDto read(ByteBuffer source) {
+        if (source == null || !source.hasRemaining()) {
+            return null;
+        }
+        ByteBuffer buffer = source.duplicate();
+        byte head = buffer.get(buffer.position());
+        if (head == VERSION) {
+            return this.decode(buffer);
+        }
+        return this.readValue(head == SMILE_HEADER ? this.smileReader : this.jsonReader, buffer);
+    }
+
+    private ByteBuffer encode(WebfluxDto dto) {
+        byte[] id = this.bytes(dto.getId());
+        byte[] name = this.bytes(dto.getName());
+        ByteBuffer buffer = ByteBuffer.allocate(1 + this.length(id) + this.length(name));
+        buffer.put(VERSION);
+        this.put(buffer, id);
+        this.put(buffer, name);
+        return buffer.flip();
+    }
+
+    private WebfluxDto decode(ByteBuffer buffer) {
+        buffer.get();
+        try {
+            return new WebfluxDto(this.string(buffer), this.string(buffer));
+        } catch (RuntimeException e) {
+            throw new SerializationException("Could not decode binary value", e);
+        }
+    }
+
+    private WebfluxDto readValue(ObjectReader reader, ByteBuffer buffer) {
+        try {
+            if (buffer.hasArray()) {
+                return reader.readValue(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            }
+            return reader.readValue(new ByteBufferBackedInputStream(buffer));
+        } catch (IOException e) {
+            throw new SerializationException("Could not decode value", e);
+        }
+    }
+
+    private byte[] bytes(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private int length(byte[] bytes) {
+        int length = bytes == null ? 0 : bytes.length;
+        int size = 1;
+        for (int value = (length + 1) >>> 7; value != 0; value >>>= 7) {
+            size++;
+        }
+        return size + length;
+    }
+
+    private void put(ByteBuffer buffer, byte[] bytes) {
+        int value = bytes == null ? 0 : bytes.length + 1;
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+        if (bytes != null) {
+            buffer.put(bytes);
+        }
+    }
+
+    private String string(ByteBuffer buffer) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        if (value == 0) {
+            return null;
+        }
+        int length = value - 1;
+        String string;
+        if (buffer.hasArray()) {
+            string = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        } else {
+            ByteBuffer slice = buffer.slice();
+            slice.limit(length);
+            string = StandardCharsets.UTF_8.decode(slice).toString();
+        }
+        buffer.position(buffer.position() + length);
+        return string;
+    }
+}
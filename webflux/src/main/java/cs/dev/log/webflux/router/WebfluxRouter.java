@@ -3,6 +3,8 @@ package cs.dev.log.webflux.router;
 import cs.dev.log.webflux.handler.WebfluxHandler;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RequestPredicates;
 import org.springframework.web.reactive.function.server.RouterFunction;
 import org.springframework.web.reactive.function.server.RouterFunctions;
 import org.springframework.web.reactive.function.server.ServerResponse;
@@ -19,6 +21,8 @@ public class WebfluxRouter {
     public RouterFunction<ServerResponse> routerFunction() {
         return RouterFunctions.route()
                 .POST("/webflux", webfluxHandler::save)
+                .GET("/webflux/{id}", RequestPredicates.accept(MediaType.APPLICATION_JSON), webfluxHandler::get)
+                .GET("/webflux/{id}", webfluxHandler::scan)
                 .build();
     }
 }
@@ -0,0 +1,119 @@
+package cs.dev.log.webflux.redis;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import cs.dev.log.webflux.config.WebfluxProperties;
+import cs.dev.log.webflux.dto.WebfluxDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class WebfluxDtoCodecTest {
+    private static final WebfluxDto DTO = new WebfluxDto("user-1", "홍길동");
+
+    @Test
+    void roundTripsBinary() {
+        WebfluxDtoCodec codec = this.codec(WebfluxCodecFormat.BINARY);
+        ByteBuffer buffer = codec.write(DTO);
+
+        assertEquals(1, buffer.get(0));
+        this.assertDto(DTO, codec.read(buffer));
+    }
+
+    @Test
+    void roundTripsBinaryNullAndEmptyFields() {
+        WebfluxDtoCodec codec = this.codec(WebfluxCodecFormat.BINARY);
+        WebfluxDto dto = new WebfluxDto(null, "");
+
+        this.assertDto(dto, codec.read(codec.write(dto)));
+    }
+
+    @Test
+    void roundTripsBinaryLongFields() {
+        WebfluxDtoCodec codec = this.codec(WebfluxCodecFormat.BINARY);
+        WebfluxDto dto = new WebfluxDto("x".repeat(300), "y".repeat(20000));
+
+        this.assertDto(dto, codec.read(codec.write(dto)));
+    }
+
+    @Test
+    void roundTripsSmile() {
+        WebfluxDtoCodec codec = this.codec(WebfluxCodecFormat.SMILE);
+        ByteBuffer buffer = codec.write(DTO);
+
+        assertEquals(':', buffer.get(0));
+        this.assertDto(DTO, codec.read(buffer));
+    }
+
+    @Test
+    void roundTripsJson() {
+        WebfluxDtoCodec codec = this.codec(WebfluxCodecFormat.JSON);
+
+        this.assertDto(DTO, codec.read(codec.write(DTO)));
+    }
+
+    @Test
+    void readsEveryFormatRegardlessOfConfiguredFormat() {
+        WebfluxDtoCodec binary = this.codec(WebfluxCodecFormat.BINARY);
+
+        this.assertDto(DTO, binary.read(this.codec(WebfluxCodecFormat.SMILE).write(DTO)));
+        this.assertDto(DTO, binary.read(this.codec(WebfluxCodecFormat.JSON).write(DTO)));
+        this.assertDto(DTO, this.codec(WebfluxCodecFormat.SMILE).read(binary.write(DTO)));
+    }
+
+    @Test
+    void readsLegacyJson() {
+        Jackson2JsonRedisSerializer<Object> legacy = new Jackson2JsonRedisSerializer<>(Object.class);
+        ByteBuffer buffer = ByteBuffer.wrap(legacy.serialize(DTO));
+
+        this.assertDto(DTO, this.codec(WebfluxCodecFormat.BINARY).read(buffer));
+    }
+
+    @Test
+    void readsDirectBuffers() {
+        for (WebfluxCodecFormat format : WebfluxCodecFormat.values()) {
+            WebfluxDtoCodec codec = this.codec(format);
+
+            this.assertDto(DTO, codec.read(this.direct(codec.write(DTO))));
+        }
+    }
+
+    @Test
+    void readsSlicedBuffersWithoutMovingThem() {
+        WebfluxDtoCodec codec = this.codec(WebfluxCodecFormat.BINARY);
+        ByteBuffer encoded = codec.write(DTO);
+        ByteBuffer padded = ByteBuffer.allocate(encoded.remaining() + 3);
+        padded.position(3);
+        padded.put(encoded.duplicate());
+        padded.position(3);
+        ByteBuffer slice = padded.slice();
+
+        this.assertDto(DTO, codec.read(slice));
+        assertEquals(0, slice.position());
+    }
+
+    @Test
+    void readsEmptyBufferAsNull() {
+        assertNull(this.codec(WebfluxCodecFormat.BINARY).read(ByteBuffer.allocate(0)));
+    }
+
+    private WebfluxDtoCodec codec(WebfluxCodecFormat format) {
+        WebfluxProperties webfluxProperties = new WebfluxProperties();
+        webfluxProperties.getCodec().setFormat(format);
+        return new WebfluxDtoCodec(webfluxProperties, new ObjectMapper());
+    }
+
+    private ByteBuffer direct(ByteBuffer buffer) {
+        ByteBuffer direct = ByteBuffer.allocateDirect(buffer.remaining());
+        direct.put(buffer.duplicate());
+        return direct.flip();
+    }
+
+    private void assertDto(WebfluxDto expected, WebfluxDto actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getName(), actual.getName());
+    }
+}